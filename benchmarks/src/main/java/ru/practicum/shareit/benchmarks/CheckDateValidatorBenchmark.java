@@ -0,0 +1,53 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.annotations.CheckDateValidator;
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckDateValidatorBenchmark {
+    private CheckDateValidator validator;
+    private AddBookingDto validBooking;
+    private AddBookingDto invalidBooking;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        validator = new CheckDateValidator();
+        validBooking = AddBookingDto.builder()
+                .itemId(1L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build();
+        invalidBooking = validBooking.toBuilder()
+                .end(now)
+                .build();
+    }
+
+    @Benchmark
+    public boolean validBooking() {
+        return validator.isValid(validBooking, null);
+    }
+
+    @Benchmark
+    public boolean invalidBooking() {
+        return validator.isValid(invalidBooking, null);
+    }
+}
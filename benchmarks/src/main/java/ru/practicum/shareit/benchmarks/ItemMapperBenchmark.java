@@ -0,0 +1,128 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.mappers.ItemMapper;
+import ru.practicum.shareit.model.Status;
+import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    @Param({"0", "10", "100", "1000"})
+    private int bookingCount;
+
+    private ConfigurableApplicationContext context;
+    private BookingStorage bookingStorage;
+    private TransactionTemplate transactionTemplate;
+    private Item item;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN",
+                        "--logging.level.ru.practicum=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        bookingStorage = context.getBean(BookingStorage.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        seed(context.getBean(UserStorage.class), context.getBean(ItemStorage.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GetItemDto toGetItemWithBookingDto() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime currentTime = LocalDateTime.now();
+            Booking lastBooking = null;
+            Booking nextBooking = null;
+            for (Booking booking : bookingStorage.findLastAndNextByItemIdIn(List.of(item.getId()),
+                    Status.APPROVED, currentTime)) {
+                if (booking.getStartDate().isBefore(currentTime)) {
+                    lastBooking = booking;
+                } else {
+                    nextBooking = booking;
+                }
+            }
+            return ItemMapper.toGetItemWIthBookingDtoFromItem(item, lastBooking, nextBooking, comments);
+        });
+    }
+
+    private void seed(UserStorage userStorage, ItemStorage itemStorage) {
+        User owner = userStorage.save(User.builder().name("owner").email("owner@ya.ru").build());
+        User booker = userStorage.save(User.builder().name("booker").email("booker@ya.ru").build());
+        item = itemStorage.save(Item.builder()
+                .name("itemName")
+                .description("itemDescription")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingCount; i++) {
+            LocalDateTime start = now.plusDays(i - bookingCount / 2);
+            bookings.add(Booking.builder()
+                    .startDate(start)
+                    .endDate(start.plusHours(12))
+                    .item(item)
+                    .booker(booker)
+                    .status(i % 3 == 0 ? Status.WAITING : Status.APPROVED)
+                    .build());
+        }
+        bookingStorage.saveAll(bookings);
+
+        comments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            comments.add(Comment.builder()
+                    .id((long) i + 1)
+                    .text("comment " + i)
+                    .created(now.minusDays(i))
+                    .item(item)
+                    .author(booker)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.mappers.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestMapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int itemCount;
+
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        User requester = User.builder().id(1L).name("requester").email("requester@ya.ru").build();
+        User owner = User.builder().id(2L).name("owner").email("owner@ya.ru").build();
+        itemRequest = ItemRequest.builder()
+                .id(1L)
+                .description("request description")
+                .created(LocalDateTime.now())
+                .requester(requester)
+                .build();
+
+        Set<Item> items = new HashSet<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Item.builder()
+                    .id((long) i + 1)
+                    .name("item " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(itemRequest)
+                    .build());
+        }
+        itemRequest.setItems(items);
+    }
+
+    @Benchmark
+    public GetItemRequestDto toGetItemRequestDto() {
+        return ItemRequestMapper.toGetItemRequestDtoFromItemRequest(itemRequest);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.model.Status;
+import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerBookingsBenchmark {
+    private static final int ITEM_COUNT = 50;
+    private static final int BOOKER_COUNT = 20;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    private int bookingCount;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    private String state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN",
+                        "--logging.level.ru.practicum=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        bookingService = context.getBean(BookingService.class);
+        seed(context.getBean(UserStorage.class), context.getBean(ItemStorage.class),
+                context.getBean(BookingStorage.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GetBookingDto> firstPage() {
+        return bookingService.getOwnerBookings(ownerId, state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<GetBookingDto> firstKeysetPage() {
+        return bookingService.getOwnerBookingsAfter(ownerId, state, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<GetBookingDto> deepPage() {
+        return bookingService.getOwnerBookings(ownerId, state, bookingCount / 2, PAGE_SIZE);
+    }
+
+    private void seed(UserStorage userStorage, ItemStorage itemStorage, BookingStorage bookingStorage) {
+        User owner = userStorage.save(User.builder().name("owner").email("owner@ya.ru").build());
+        ownerId = owner.getId();
+
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKER_COUNT; i++) {
+            bookers.add(User.builder().name("booker" + i).email("booker" + i + "@ya.ru").build());
+        }
+        bookers = userStorage.saveAll(bookers);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        items = itemStorage.saveAll(items);
+
+        LocalDateTime now = LocalDateTime.now();
+        Status[] statuses = Status.values();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingCount; i++) {
+            LocalDateTime start = now.plusHours(i - bookingCount / 2);
+            bookings.add(Booking.builder()
+                    .startDate(start)
+                    .endDate(start.plusHours(i % 2 == 0 ? 1 : 48))
+                    .item(items.get(i % ITEM_COUNT))
+                    .booker(bookers.get(i % BOOKER_COUNT))
+                    .status(statuses[i % statuses.length])
+                    .build());
+        }
+        bookingStorage.saveAll(bookings);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingBatchResultDto {
+    private int index;
+    private int status;
+    private GetBookingDto booking;
+    private String error;
+}
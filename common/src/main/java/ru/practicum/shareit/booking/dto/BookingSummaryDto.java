@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingSummaryDto {
+    private long all;
+    private long current;
+    private long past;
+    private long future;
+    private long waiting;
+    private long rejected;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ItemImportErrorDto {
+    private long line;
+    private String error;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemImportLineDto {
+    private long line;
+    private AddOrUpdateItemDto item;
+    private String error;
+}
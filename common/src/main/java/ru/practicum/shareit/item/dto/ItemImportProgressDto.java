@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ItemImportProgressDto {
+    private long processed;
+    private long imported;
+    private long failed;
+    private boolean completed;
+}
@@ -8,8 +8,14 @@ import java.time.format.DateTimeFormatter;
 @UtilityClass
 public class Constants {
     public static final String REQUEST_HEADER_USER_ID = "X-Sharer-User-Id";
+    public static final String RESPONSE_HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    public static final String RESPONSE_HEADER_TOTAL_COUNT = "X-Total-Count";
+    public static final String ITEM_IMPORT_BATCH_SIZE = "500";
+    public static final int ITEM_IMPORT_MAX_BATCH_SIZE = 1000;
     public static final Sort SORT_BY_START_DATE_DESC = Sort.by(Sort.Direction.DESC, "startDate");
+    public static final Sort SORT_BY_START_DATE_AND_ID_DESC = Sort.by(Sort.Direction.DESC, "startDate", "id");
     public static final Sort SORT_BY_ID_ASC = Sort.by(Sort.Direction.ASC, "id");
     public static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
+    public static final Sort SORT_BY_CREATED_AND_ID_ASC = Sort.by(Sort.Direction.ASC, "created", "id");
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 }
\ No newline at end of file
@@ -2,14 +2,18 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,38 +21,89 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         WebClient serverWebClient,
+                         GatewayResponseCache responseCache) {
+        super(serverWebClient, new DefaultUriBuilderFactory(serverUrl + API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> getUserBookings(long userId, String state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getUserBookings(long userId, String state, int from, int size,
+                                                        boolean includeTotal) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
-                "size", size);
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+                "size", size,
+                "includeTotal", includeTotal);
+        return get("?state={state}&from={from}&size={size}&includeTotal={includeTotal}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, String state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getOwnerBookings(long userId, String state, int from, int size,
+                                                         boolean includeTotal) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
-                "size", size);
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+                "size", size,
+                "includeTotal", includeTotal);
+        return get("/owner?state={state}&from={from}&size={size}&includeTotal={includeTotal}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingByUserOwner(long userId, long bookingId) {
+    public Mono<ResponseEntity<Object>> getUserBookingsAfter(long userId, String state, String cursor, int size,
+                                                             boolean includeTotal) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size,
+                "includeTotal", includeTotal);
+        return get("?state={state}&cursor={cursor}&size={size}&includeTotal={includeTotal}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookingsAfter(long userId, String state, String cursor, int size,
+                                                              boolean includeTotal) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size,
+                "includeTotal", includeTotal);
+        return get("/owner?state={state}&cursor={cursor}&size={size}&includeTotal={includeTotal}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserBookingsSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookingsSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> subscribeToEvents(long userId) {
+        return getEvents("/events", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<Object>>> exportUserBookings(long userId) {
+        return getStream("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<Object>>> exportOwnerBookings(long userId) {
+        return getStream("/owner/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingByUserOwner(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> create(long userId, AddBookingDto createBookingDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, AddBookingDto createBookingDto) {
         return post("", userId, createBookingDto);
     }
 
-    public ResponseEntity<Object> approveBooking(long userId, long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveBooking(long userId, long bookingId, Boolean approved) {
         return patch(String.format("/%s?approved=%s", bookingId, approved), userId);
     }
+
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<AddBookingDto> createBookingDtos) {
+        return post("/batch", userId, createBookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> approveAll(long userId, List<Long> bookingIds, Boolean approved) {
+        return patch("/batch?approved=" + approved, userId, bookingIds);
+    }
 }
\ No newline at end of file
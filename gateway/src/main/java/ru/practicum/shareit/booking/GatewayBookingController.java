@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +17,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.shareit.annotations.StartBeforeEndDateValid;
 import ru.practicum.shareit.annotations.ValuesAllowedConstraint;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
-
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 
@@ -31,61 +38,117 @@ public class GatewayBookingController {
     private final BookingClient client;
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                  @ValuesAllowedConstraint(propName = "state",
-                                                          values = {"all",
-                                                                  "current",
-                                                                  "past",
-                                                                  "future",
-                                                                  "waiting",
-                                                                  "rejected"},
-                                                          message = "Unknown state: UNSUPPORTED_STATUS")
-                                                  @RequestParam(defaultValue = "all") String state,
-                                                  @RequestParam(defaultValue = "0")
-                                                  @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                                  @RequestParam(defaultValue = "20")
-                                                  @Min(1) @Max(20) int size) {
-
-        return client.getUserBookings(userId, state, from, size);
+    public Mono<ResponseEntity<Object>> getUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                        @ValuesAllowedConstraint(propName = "state",
+                                                                values = {"all",
+                                                                        "current",
+                                                                        "past",
+                                                                        "future",
+                                                                        "waiting",
+                                                                        "rejected"},
+                                                                message = "Unknown state: UNSUPPORTED_STATUS")
+                                                        @RequestParam(defaultValue = "all") String state,
+                                                        @RequestParam(defaultValue = "0")
+                                                        @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                                        @RequestParam(defaultValue = "20")
+                                                        @Min(1) @Max(20) int size,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) {
+            return client.getUserBookingsAfter(userId, state, cursor, size, includeTotal);
+        }
+        return client.getUserBookings(userId, state, from, size, includeTotal);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                   @ValuesAllowedConstraint(propName = "state",
-                                                           values = {"all",
-                                                                   "current",
-                                                                   "past",
-                                                                   "future",
-                                                                   "waiting",
-                                                                   "rejected"},
-                                                           message = "Unknown state: UNSUPPORTED_STATUS")
-                                                   @RequestParam(defaultValue = "all") String state,
-                                                   @RequestParam(defaultValue = "0")
-                                                   @Min(0) int from,
-                                                   @RequestParam(defaultValue = "20")
-                                                   @Min(1) @Max(20) int size) {
-        return client.getOwnerBookings(userId, state, from, size);
+    public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                         @ValuesAllowedConstraint(propName = "state",
+                                                                 values = {"all",
+                                                                         "current",
+                                                                         "past",
+                                                                         "future",
+                                                                         "waiting",
+                                                                         "rejected"},
+                                                                 message = "Unknown state: UNSUPPORTED_STATUS")
+                                                         @RequestParam(defaultValue = "all") String state,
+                                                         @RequestParam(defaultValue = "0")
+                                                         @Min(0) int from,
+                                                         @RequestParam(defaultValue = "20")
+                                                         @Min(1) @Max(20) int size,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) {
+            return client.getOwnerBookingsAfter(userId, state, cursor, size, includeTotal);
+        }
+        return client.getOwnerBookings(userId, state, from, size, includeTotal);
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<Object>> getUserBookingsSummary(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.getUserBookingsSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<Object>> getOwnerBookingsSummary(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Object>>> exportUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.exportUserBookings(userId);
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Object>>> exportOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.exportOwnerBookings(userId);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> subscribeToEvents(
+            @RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return client.subscribeToEvents(userId);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingByUserOwner(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                        @PathVariable long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingByUserOwner(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                              @PathVariable long bookingId) {
         return client.getBookingByUserOwner(userId, bookingId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                         @RequestBody
-                                         @Valid
-                                         @StartBeforeEndDateValid(message = "End date can't be before start date")
-                                         AddBookingDto createBookingDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                               @RequestBody
+                                               @Valid
+                                               @StartBeforeEndDateValid(message = "End date can't be before start date")
+                                               AddBookingDto createBookingDto) {
         return client.create(userId, createBookingDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                 @PathVariable long bookingId,
-                                                 @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                       @PathVariable long bookingId,
+                                                       @RequestParam Boolean approved) {
         return client.approveBooking(userId, bookingId, approved);
     }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                  @RequestBody
+                                                  @NotEmpty(message = "Batch must contain from 1 to 100 bookings")
+                                                  @Size(max = 100, message = "Batch must contain from 1 to 100 bookings")
+                                                  List<@Valid @NotNull
+                                                  @StartBeforeEndDateValid(message = "End date can't be before start date")
+                                                  AddBookingDto> createBookingDtos) {
+        return client.createAll(userId, createBookingDtos);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveAll(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                   @RequestParam Boolean approved,
+                                                   @RequestBody
+                                                   @NotEmpty(message = "Batch must contain from 1 to 100 bookings")
+                                                   @Size(max = 100, message = "Batch must contain from 1 to 100 bookings")
+                                                   List<@NotNull Long> bookingIds) {
+        return client.approveAll(userId, bookingIds, approved);
+    }
 }
@@ -1,98 +1,186 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.http.HttpEntity;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENTS =
+            new ParameterizedTypeReference<>() {
+            };
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final WebClient client;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final GatewayResponseCache responseCache;
+
+    public BaseClient(WebClient client, UriBuilderFactory uriBuilderFactory, GatewayResponseCache responseCache) {
+        this.client = client;
+        this.uriBuilderFactory = uriBuilderFactory;
+        this.responseCache = responseCache;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected Mono<ResponseEntity<Object>> getUncached(String path, long userId, Map<String, Object> parameters) {
+        return exchange(HttpMethod.GET, uriBuilderFactory.expand(path, parameters), defaultHeaders(userId), null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Flux<Object>>> getStream(String path, long userId) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        return client.get()
+                .uri(uriBuilderFactory.expand(path))
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(Object.class)
+                .map(BaseClient::prepareStreamResponse);
+    }
+
+    protected Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> getEvents(String path, long userId) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON));
+        return client.get()
+                .uri(uriBuilderFactory.expand(path))
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .retrieve()
+                .toEntityFlux(SERVER_SENT_EVENTS)
+                .map(BaseClient::prepareStreamResponse);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<Object>>> postStream(String path, long userId,
+                                                               Map<String, Object> parameters,
+                                                               Flux<T> body, Class<T> elementClass) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        return client.post()
+                .uri(uriBuilderFactory.expand(path, parameters))
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .body(body, elementClass)
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(Object.class)
+                .map(BaseClient::prepareStreamResponse)
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        responseCache.invalidateAll();
+                    }
+                });
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = parameters != null ? uriBuilderFactory.expand(path, parameters) : uriBuilderFactory.expand(path);
+        if (method != HttpMethod.GET) {
+            return exchange(method, uri, defaultHeaders(userId), body)
+                    .doOnNext(response -> {
+                        if (response.getStatusCode().is2xxSuccessful()) {
+                            responseCache.invalidateAll();
+                        }
+                    });
+        }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        String key = uri + "|" + userId;
+        GatewayResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return Mono.just(cached.toResponseEntity());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        return exchange(method, uri, headers, body)
+                .map(response -> {
+                    if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        responseCache.revalidated(key, cached);
+                        return cached.toResponseEntity();
+                    }
+                    if (response.getStatusCode() == HttpStatus.OK) {
+                        responseCache.put(key, response);
+                    }
+                    return response;
+                });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers, @Nullable T body) {
+        WebClient.RequestBodySpec request = client.method(method)
+                .uri(uri)
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(BaseClient::prepareGatewayResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,16 +193,22 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful() || response.statusCode() == HttpStatus.NOT_MODIFIED) {
+            return response.toEntity(Object.class);
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        return response.bodyToMono(byte[].class)
+                .map(bytes -> ResponseEntity.status(response.rawStatusCode()).<Object>body(bytes))
+                .defaultIfEmpty(ResponseEntity.status(response.rawStatusCode()).build());
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static <T> ResponseEntity<Flux<T>> prepareStreamResponse(ResponseEntity<Flux<T>> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            builder.contentType(contentType);
         }
-        return responseBuilder.build();
+        return builder.body(response.getBody());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class GatewayResponseCache {
+    private final Cache<String, CachedResponse> cache;
+    private final Duration freshFor;
+
+    public GatewayResponseCache(@Value("${gateway.response-cache.maximum-size:1000}") long maximumSize,
+                                @Value("${gateway.response-cache.ttl:5m}") Duration ttl,
+                                @Value("${gateway.response-cache.fresh-for:1s}") Duration freshFor) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.freshFor = freshFor;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, ResponseEntity<Object> response) {
+        String etag = response.getHeaders().getETag();
+        if (etag != null) {
+            cache.put(key, new CachedResponse(etag, response.getHeaders(), response.getBody(), Instant.now()));
+        }
+    }
+
+    public void revalidated(String key, CachedResponse response) {
+        cache.put(key, new CachedResponse(response.getEtag(), response.headers, response.body, Instant.now()));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isFresh(CachedResponse response) {
+        return response.validatedAt.plus(freshFor).isAfter(Instant.now());
+    }
+
+    @RequiredArgsConstructor
+    public static class CachedResponse {
+        @Getter
+        private final String etag;
+        private final HttpHeaders headers;
+        private final Object body;
+        private final Instant validatedAt;
+
+        public ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.status(HttpStatus.OK).headers(headers).body(body);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(
+            @Value("${gateway.client.max-connections:500}") int maxConnections,
+            @Value("${gateway.client.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+            @Value("${gateway.client.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${gateway.client.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${gateway.client.max-life-time:10m}") Duration maxLifeTime,
+            @Value("${gateway.client.evict-in-background:15s}") Duration evictInBackground) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient serverWebClient(WebClient.Builder builder,
+                                     ConnectionProvider serverConnectionProvider,
+                                     @Value("${gateway.client.connect-timeout:2s}") Duration connectTimeout,
+                                     @Value("${gateway.client.response-timeout:30s}") Duration responseTimeout,
+                                     @Value("${gateway.client.keep-alive:true}") boolean keepAlive) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .keepAlive(keepAlive);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
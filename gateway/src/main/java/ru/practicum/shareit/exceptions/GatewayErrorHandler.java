@@ -2,11 +2,14 @@ package ru.practicum.shareit.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -31,6 +34,15 @@ public class GatewayErrorHandler {
         return new GatewayErrorResponse("Entity error", e.getMessage());
     }
 
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<byte[]> handleWebClientResponseException(final WebClientResponseException e) {
+        log.error("Response status {} from server {}", e.getRawStatusCode(), e.getMessage(), e);
+        MediaType contentType = e.getHeaders().getContentType();
+        return ResponseEntity.status(e.getRawStatusCode())
+                .contentType(contentType != null ? contentType : MediaType.APPLICATION_JSON)
+                .body(e.getResponseBodyAsByteArray());
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleConstraintViolationException(ConstraintViolationException e) {
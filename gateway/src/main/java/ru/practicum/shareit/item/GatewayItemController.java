@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -9,12 +10,17 @@ import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
 
 import ru.practicum.shareit.markers.Marker;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.io.InputStream;
 import java.util.Collections;
 
+import static ru.practicum.shareit.utilities.Constants.ITEM_IMPORT_BATCH_SIZE;
+import static ru.practicum.shareit.utilities.Constants.ITEM_IMPORT_MAX_BATCH_SIZE;
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 
 @Controller
@@ -23,61 +29,82 @@ import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 @Validated
 public class GatewayItemController {
     private final ItemClient client;
+    private final ItemImportParser importParser;
 
     @GetMapping
-    public ResponseEntity<Object> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                 @RequestParam(defaultValue = "0")
-                                                 @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                                 @RequestParam(defaultValue = "20")
-                                                 @Min(1) @Max(20) int size) {
+    public Mono<ResponseEntity<Object>> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                       @RequestParam(defaultValue = "0")
+                                                       @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                                       @RequestParam(defaultValue = "20")
+                                                       @Min(1) @Max(20) int size) {
         return client.getAllByUserId(userId, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getByItemId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                              @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> getByItemId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                    @PathVariable long itemId) {
         return client.getOneById(userId, itemId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                         @RequestBody
-                                         @Validated(Marker.OnCreate.class) AddOrUpdateItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                               @RequestBody
+                                               @Validated(Marker.OnCreate.class) AddOrUpdateItemDto itemDto) {
         return client.create(userId, itemDto);
     }
 
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Object>>> importItems(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                          @RequestParam(defaultValue = ITEM_IMPORT_BATCH_SIZE)
+                                                          @Min(1) @Max(ITEM_IMPORT_MAX_BATCH_SIZE) int batchSize,
+                                                          InputStream body) {
+        return client.importItems(userId, batchSize, importParser.parse(body));
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                         @PathVariable long itemId,
-                                         @RequestBody
-                                         @Validated(Marker.OnUpdate.class) AddOrUpdateItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                               @PathVariable long itemId,
+                                               @RequestBody
+                                               @Validated(Marker.OnUpdate.class) AddOrUpdateItemDto itemDto) {
         return client.update(userId, itemId, itemDto);
     }
 
     @DeleteMapping("/{itemId}")
-    public void delete(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                       @PathVariable long itemId) {
-        client.delete(userId, itemId);
+    public Mono<ResponseEntity<Object>> delete(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                               @PathVariable long itemId) {
+        return client.delete(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                         @RequestParam String text,
-                                         @RequestParam(defaultValue = "0")
-                                         @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                         @RequestParam(defaultValue = "20")
-                                         @Min(1) @Max(20) int size) {
+    public Mono<ResponseEntity<Object>> search(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                               @RequestParam String text,
+                                               @RequestParam(defaultValue = "0")
+                                               @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                               @RequestParam(defaultValue = "20")
+                                               @Min(1) @Max(20) int size) {
         if (text.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
         return client.search(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                @PathVariable long itemId,
-                                                @RequestBody
-                                                @Valid AddCommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                      @PathVariable long itemId,
+                                                      @RequestBody
+                                                      @Valid AddCommentDto commentDto) {
         return client.createComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                    @PathVariable long itemId,
+                                                    @RequestParam(defaultValue = "0")
+                                                    @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                                    @RequestParam(defaultValue = "20")
+                                                    @Min(1) @Max(20) int size) {
+        return client.getComments(userId, itemId, from, size);
+    }
 }
\ No newline at end of file
@@ -2,14 +2,17 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
 import ru.practicum.shareit.item.dto.AddCommentDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -18,37 +21,42 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      WebClient serverWebClient,
+                      GatewayResponseCache responseCache) {
+        super(serverWebClient, new DefaultUriBuilderFactory(serverUrl + API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> getAllByUserId(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllByUserId(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOneById(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> getOneById(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> create(long userId, AddOrUpdateItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, AddOrUpdateItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, AddOrUpdateItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(long userId, long itemId, AddOrUpdateItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public void delete(long userId, long itemId) {
-        delete("/" + itemId, userId);
+    public Mono<ResponseEntity<Flux<Object>>> importItems(long userId, int batchSize, Flux<ItemImportLineDto> lines) {
+        Map<String, Object> parameters = Map.of(
+                "batchSize", batchSize);
+        return postStream("/import?batchSize={batchSize}", userId, parameters, lines, ItemImportLineDto.class);
+    }
+
+    public Mono<ResponseEntity<Object>> delete(long userId, long itemId) {
+        return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(long userId, String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -56,7 +64,14 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(long userId, long itemId, AddCommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(long userId, long itemId, AddCommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public Mono<ResponseEntity<Object>> getComments(long userId, long itemId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return get("/" + itemId + "/comments?from={from}&size={size}", userId, parameters);
+    }
 }
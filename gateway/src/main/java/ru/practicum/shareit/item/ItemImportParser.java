@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
+import ru.practicum.shareit.markers.Marker;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemImportParser {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public Flux<ItemImportLineDto> parse(InputStream body) {
+        return Flux.using(
+                        () -> objectMapper.readerFor(JsonNode.class).<JsonNode>readValues(body),
+                        lines -> Flux.<ItemImportLineDto, Long>generate(() -> 0L, (line, sink) -> {
+                            try {
+                                if (!lines.hasNextValue()) {
+                                    sink.complete();
+                                    return line;
+                                }
+                                sink.next(validate(line + 1, lines.nextValue()));
+                            } catch (IOException e) {
+                                sink.next(malformed(line + 1, e));
+                                sink.complete();
+                            }
+                            return line + 1;
+                        }),
+                        ItemImportParser::close)
+                .onErrorResume(IOException.class, e -> Flux.just(malformed(1, e)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ItemImportLineDto validate(long line, JsonNode node) {
+        if (node.isNull()) {
+            return ItemImportLineDto.builder()
+                    .line(line)
+                    .error("Item must not be null")
+                    .build();
+        }
+        AddOrUpdateItemDto item;
+        try {
+            item = objectMapper.treeToValue(node, AddOrUpdateItemDto.class);
+        } catch (JsonProcessingException e) {
+            return ItemImportLineDto.builder()
+                    .line(line)
+                    .error("Invalid item: " + e.getOriginalMessage())
+                    .build();
+        }
+        Set<ConstraintViolation<AddOrUpdateItemDto>> violations = validator.validate(item, Marker.OnCreate.class);
+        if (!violations.isEmpty()) {
+            return ItemImportLineDto.builder()
+                    .line(line)
+                    .error(violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")))
+                    .build();
+        }
+        return ItemImportLineDto.builder()
+                .line(line)
+                .item(item)
+                .build();
+    }
+
+    private static ItemImportLineDto malformed(long line, IOException e) {
+        return ItemImportLineDto.builder()
+                .line(line)
+                .error("Malformed JSON: " + (e instanceof JsonProcessingException ?
+                        ((JsonProcessingException) e).getOriginalMessage() : e.getMessage()))
+                .build();
+    }
+
+    private static void close(MappingIterator<?> lines) {
+        try {
+            lines.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
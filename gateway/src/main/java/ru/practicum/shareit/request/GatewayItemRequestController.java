@@ -7,6 +7,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
@@ -22,29 +23,39 @@ public class GatewayItemRequestController {
     private final RequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                @RequestBody
-                                                @Valid AddItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                      @RequestBody
+                                                      @Valid AddItemRequestDto itemRequestDto) {
         return client.createRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllRequestsByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequestsByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
         return client.getAllRequestsByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                 @RequestParam(defaultValue = "0")
-                                                 @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                                 @RequestParam(defaultValue = "20")
-                                                 @Min(1) @Max(20) int size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                       @RequestParam(defaultValue = "0")
+                                                       @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                                       @RequestParam(defaultValue = "20")
+                                                       @Min(1) @Max(20) int size) {
         return client.getAllRequests(userId, from, size);
     }
 
+    @GetMapping("/feed")
+    public Mono<ResponseEntity<Object>> getRequestsFeed(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                        @RequestParam(defaultValue = "") String since,
+                                                        @RequestParam(defaultValue = "20")
+                                                        @Min(1) @Max(20) int size,
+                                                        @RequestParam(defaultValue = "0")
+                                                        @Min(0) @Max(25) int wait) {
+        return client.getRequestsFeed(userId, since, size, wait);
+    }
+
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                 @PathVariable long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                       @PathVariable long requestId) {
         return client.getRequestById(userId, requestId);
     }
 }
@@ -2,12 +2,13 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 
 import java.util.Map;
@@ -17,29 +18,36 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl,
+                         WebClient serverWebClient,
+                         GatewayResponseCache responseCache) {
+        super(serverWebClient, new DefaultUriBuilderFactory(serverUrl + API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> createRequest(long userId, AddItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> createRequest(long userId, AddItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllRequestsByUserId(long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequestsByUserId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestsFeed(long userId, String since, int size, int wait) {
+        Map<String, Object> parameters = Map.of(
+                "since", since,
+                "size", size,
+                "wait", wait);
+        return getUncached("/feed?since={since}&size={size}&wait={wait}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.markers.Marker;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
+import reactor.core.publisher.Mono;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
@@ -19,33 +20,33 @@ public class GatewayUserController {
     private final UserClient client;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestParam(defaultValue = "0")
-                                         @Min(0) @Max(Integer.MAX_VALUE) int from,
-                                         @RequestParam(defaultValue = "20")
-                                         @Min(1) @Max(20) int size) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam(defaultValue = "0")
+                                               @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                               @RequestParam(defaultValue = "20")
+                                               @Min(1) @Max(20) int size) {
         return client.getAll(from, size);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable long userId) {
         return client.getById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody
-                                         @Validated(Marker.OnCreate.class) AddOrUpdateUserDto addOrUpdateUserDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody
+                                               @Validated(Marker.OnCreate.class) AddOrUpdateUserDto addOrUpdateUserDto) {
         return client.create(addOrUpdateUserDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable long userId,
-                                         @RequestBody
-                                         @Validated(Marker.OnUpdate.class) AddOrUpdateUserDto addOrUpdateUserDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable long userId,
+                                               @RequestBody
+                                               @Validated(Marker.OnUpdate.class) AddOrUpdateUserDto addOrUpdateUserDto) {
         return client.update(userId, addOrUpdateUserDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteById(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> deleteById(@PathVariable long userId) {
         return client.deleteById(userId);
     }
 }
\ No newline at end of file
@@ -3,12 +3,13 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
 
 
@@ -19,33 +20,32 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      WebClient serverWebClient,
+                      GatewayResponseCache responseCache) {
+        super(serverWebClient, new DefaultUriBuilderFactory(serverUrl + API_PREFIX), responseCache);
     }
 
-    public ResponseEntity<Object> getAll(int from, int size) {
+    public Mono<ResponseEntity<Object>> getAll(int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size);
         return get("", null, parameters);
     }
 
-    public ResponseEntity<Object> getById(long userId) {
+    public Mono<ResponseEntity<Object>> getById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> create(AddOrUpdateUserDto createUpdateUserDto) {
+    public Mono<ResponseEntity<Object>> create(AddOrUpdateUserDto createUpdateUserDto) {
         return post("", createUpdateUserDto);
     }
 
-    public ResponseEntity<Object> update(long userId, AddOrUpdateUserDto createUpdateUserDto) {
+    public Mono<ResponseEntity<Object>> update(long userId, AddOrUpdateUserDto createUpdateUserDto) {
         return patch("/" + userId, createUpdateUserDto);
     }
 
-    public ResponseEntity<Object> deleteById(long userId) {
+    public Mono<ResponseEntity<Object>> deleteById(long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
+
+class BaseClientTest {
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        requests.clear();
+        responses.clear();
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responses.removeFirst());
+                })
+                .build();
+    }
+
+    @Test
+    void cacheResponsesPerUriAndUser() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        responses.add(ok());
+        responses.add(ok());
+        responses.add(ok());
+
+        client.get("/items/1", 1L).block();
+        ResponseEntity<Object> cached = client.get("/items/1", 1L).block();
+        client.get("/items/1", 2L).block();
+        client.get("/items/1?from={from}", 1L, Map.of("from", 0)).block();
+
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cached.getBody()).isEqualTo(Map.of("id", 1));
+        assertThat(requests)
+                .extracting(request -> request.url().toString() + "|"
+                        + request.headers().getFirst(REQUEST_HEADER_USER_ID))
+                .containsExactly("http://shareit-server/items/1|1",
+                        "http://shareit-server/items/1|2",
+                        "http://shareit-server/items/1?from=0|1");
+    }
+
+    @Test
+    void revalidateStaleResponseWithIfNoneMatch() {
+        BaseClient client = client(Duration.ZERO);
+        responses.add(ok());
+        responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.ETAG, ETAG)
+                .build());
+
+        client.get("/items/1", 1L).block();
+        ResponseEntity<Object> revalidated = client.get("/items/1", 1L).block();
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).headers().getIfNoneMatch()).isEmpty();
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly(ETAG);
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidated.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(revalidated.getBody()).isEqualTo(Map.of("id", 1));
+    }
+
+    @Test
+    void replaceCachedResponseWhenChanged() {
+        BaseClient client = client(Duration.ZERO);
+        responses.add(ok());
+        responses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.ETAG, "\"3d4e5f\"")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"id\":1,\"name\":\"changed\"}")
+                .build());
+        responses.add(ok());
+
+        client.get("/items/1", 1L).block();
+        ResponseEntity<Object> changed = client.get("/items/1", 1L).block();
+        client.get("/items/1", 1L).block();
+
+        assertThat(changed.getBody()).isEqualTo(Map.of("id", 1, "name", "changed"));
+        assertThat(requests.get(2).headers().getIfNoneMatch()).containsExactly("\"3d4e5f\"");
+    }
+
+    @Test
+    void invalidateCacheOnSuccessfulWrite() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        responses.add(ok());
+        responses.add(ClientResponse.create(HttpStatus.OK).build());
+        responses.add(ok());
+
+        client.get("/items/1", 1L).block();
+        client.patch("/items/1", 1L, Map.of("name", "changed")).block();
+        client.get("/items/1", 1L).block();
+
+        assertThat(requests)
+                .extracting(ClientRequest::method)
+                .containsExactly(HttpMethod.GET, HttpMethod.PATCH, HttpMethod.GET);
+        assertThat(requests.get(2).headers().getIfNoneMatch()).isEmpty();
+    }
+
+    @Test
+    void keepCacheOnFailedWrite() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        responses.add(ok());
+        responses.add(ClientResponse.create(HttpStatus.BAD_REQUEST).build());
+
+        client.get("/items/1", 1L).block();
+        ResponseEntity<Object> failed = client.patch("/items/1", 1L, Map.of("name", "")).block();
+        ResponseEntity<Object> cached = client.get("/items/1", 1L).block();
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(cached.getBody()).isEqualTo(Map.of("id", 1));
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void doNotCacheResponseWithoutEtag() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        responses.add(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"id\":1}")
+                .build());
+        responses.add(ok());
+
+        client.get("/items/1", 1L).block();
+        client.get("/items/1", 1L).block();
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfNoneMatch()).isEmpty();
+    }
+
+    private BaseClient client(Duration freshFor) {
+        return new BaseClient(webClient, new DefaultUriBuilderFactory("http://shareit-server"),
+                new GatewayResponseCache(100, Duration.ofMinutes(5), freshFor));
+    }
+
+    private static ClientResponse ok() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.ETAG, ETAG)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"id\":1}")
+                .build();
+    }
+}
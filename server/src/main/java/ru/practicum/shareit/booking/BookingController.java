@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,33 +12,86 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.utilities.BookingCursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
+import static ru.practicum.shareit.utilities.Constants.RESPONSE_HEADER_NEXT_CURSOR;
+import static ru.practicum.shareit.utilities.Constants.RESPONSE_HEADER_TOTAL_COUNT;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
+    private final BookingEventHub bookingEventHub;
 
     @GetMapping
-    public List<GetBookingDto> getUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                               @RequestParam(defaultValue = "all") String state,
-                                               @RequestParam(defaultValue = "0") int from,
-                                               @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getUserBookings(userId, state, from, size);
+    public ResponseEntity<List<GetBookingDto>> getUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                               @RequestParam(defaultValue = "all") String state,
+                                                               @RequestParam(defaultValue = "0") int from,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "false")
+                                                               boolean includeTotal) {
+        List<GetBookingDto> bookings = cursor == null ?
+                bookingService.getUserBookings(userId, state, from, size)
+                : bookingService.getUserBookingsAfter(userId, state, cursor, size);
+        return withPagingHeaders(bookings, size,
+                includeTotal ? bookingService.countUserBookings(userId, state) : null);
     }
 
     @GetMapping("/owner")
-    public List<GetBookingDto> getOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
-                                                @RequestParam(defaultValue = "all") String state,
-                                                @RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "20") int size) {
-        return bookingService.getOwnerBookings(userId, state, from, size);
+    public ResponseEntity<List<GetBookingDto>> getOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                                @RequestParam(defaultValue = "all") String state,
+                                                                @RequestParam(defaultValue = "0") int from,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "false")
+                                                                boolean includeTotal) {
+        List<GetBookingDto> bookings = cursor == null ?
+                bookingService.getOwnerBookings(userId, state, from, size)
+                : bookingService.getOwnerBookingsAfter(userId, state, cursor, size);
+        return withPagingHeaders(bookings, size,
+                includeTotal ? bookingService.countOwnerBookings(userId, state) : null);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getUserBookingsSummary(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return bookingService.getUserBookingsSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerBookingsSummary(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return bookingService.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUserBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                   HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookingExporter.exportUserBookings(userId, response.getOutputStream());
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportOwnerBookings(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                    HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookingExporter.exportOwnerBookings(userId, response.getOutputStream());
+    }
+
+    @GetMapping("/events")
+    public SseEmitter subscribeToEvents(@RequestHeader(REQUEST_HEADER_USER_ID) long userId) {
+        return bookingEventHub.subscribe(userId);
     }
 
     @GetMapping("/{bookingId}")
@@ -57,4 +112,30 @@ public class BookingController {
                                         @RequestParam Boolean approved) {
         return bookingService.approveBooking(userId, bookingId, approved);
     }
+
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                 @RequestBody List<AddBookingDto> addBookingDtos) {
+        return bookingService.createAll(userId, addBookingDtos);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> approveAll(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                                  @RequestParam Boolean approved,
+                                                  @RequestBody List<Long> bookingIds) {
+        return bookingService.approveAll(userId, bookingIds, approved);
+    }
+
+    private static ResponseEntity<List<GetBookingDto>> withPagingHeaders(List<GetBookingDto> bookings, int size,
+                                                                         Long total) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() >= size) {
+            GetBookingDto last = bookings.get(bookings.size() - 1);
+            response.header(RESPONSE_HEADER_NEXT_CURSOR, BookingCursor.of(last.getStart(), last.getId()).encode());
+        }
+        if (total != null) {
+            response.header(RESPONSE_HEADER_TOTAL_COUNT, String.valueOf(total));
+        }
+        return response.body(bookings);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingTimeline;
+import ru.practicum.shareit.model.State;
+import ru.practicum.shareit.model.Status;
+import ru.practicum.shareit.utilities.ChunkRequest;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.utilities.Constants.SORT_BY_ID_ASC;
+import static ru.practicum.shareit.utilities.Transactions.afterCommit;
+
+@Slf4j
+@Component
+public class BookingCounters {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final long[] EMPTY = new long[State.values().length];
+
+    private final BookingStorage bookingStorage;
+    private final Map<Long, long[]> bookerCounters = new HashMap<>();
+    private final Map<Long, long[]> ownerCounters = new HashMap<>();
+    private final PriorityQueue<Transition> transitions = new PriorityQueue<>(
+            Comparator.comparing((Transition transition) -> transition.at));
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Duration rolloverInterval;
+
+    public BookingCounters(BookingStorage bookingStorage,
+                           @Value("${booking.counters.rollover-interval:1s}") Duration rolloverInterval) {
+        this.bookingStorage = bookingStorage;
+        this.rolloverInterval = rolloverInterval;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+        executor.scheduleWithFixedDelay(this::rollover, rolloverInterval.toMillis(), rolloverInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            bookerCounters.clear();
+            ownerCounters.clear();
+            transitions.clear();
+            LocalDateTime now = LocalDateTime.now();
+            long lastId = 0;
+            List<BookingTimeline> batch;
+            do {
+                batch = bookingStorage.findAllTimelinesByIdGreaterThan(lastId,
+                        new ChunkRequest(0, LOAD_BATCH_SIZE, SORT_BY_ID_ASC));
+                for (BookingTimeline booking : batch) {
+                    add(booking, now);
+                    lastId = booking.getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            log.info("Booking counters built: {} bookers, {} owners, {} pending transitions",
+                    bookerCounters.size(), ownerCounters.size(), transitions.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public BookingSummaryDto getBookerSummary(long userId) {
+        return toSummary(bookerCounters, userId);
+    }
+
+    public BookingSummaryDto getOwnerSummary(long userId) {
+        return toSummary(ownerCounters, userId);
+    }
+
+    public void created(Collection<Booking> bookings) {
+        List<BookingTimeline> timelines = bookings.stream()
+                .map(BookingCounters::toTimeline)
+                .collect(Collectors.toList());
+        afterCommit(() -> update(now -> timelines.forEach(booking -> add(booking, now))));
+    }
+
+    public void statusChanged(Booking booking, Status previous) {
+        BookingTimeline timeline = toTimeline(booking);
+        afterCommit(() -> update(now -> {
+            increment(timeline, stateOf(previous), -1);
+            increment(timeline, stateOf(timeline.getStatus()), 1);
+        }));
+    }
+
+    public void itemDeleted(long itemId) {
+        removed(bookingStorage.findAllTimelinesByItemId(itemId));
+    }
+
+    public void userDeleted(long userId) {
+        removed(bookingStorage.findAllTimelinesByUserId(userId));
+    }
+
+    private void removed(Collection<BookingTimeline> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = bookings.stream()
+                .map(BookingTimeline::getId)
+                .collect(Collectors.toSet());
+        afterCommit(() -> update(now -> {
+            transitions.removeIf(transition -> ids.contains(transition.booking.getId()));
+            for (BookingTimeline booking : bookings) {
+                increment(booking, State.ALL, -1);
+                increment(booking, stateAt(booking, now), -1);
+                increment(booking, stateOf(booking.getStatus()), -1);
+            }
+            bookerCounters.values().removeIf(counters -> counters[State.ALL.ordinal()] == 0);
+            ownerCounters.values().removeIf(counters -> counters[State.ALL.ordinal()] == 0);
+        }));
+    }
+
+    public void rollover() {
+        lock.writeLock().lock();
+        try {
+            applyTransitions(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Booking counters rollover failed", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void update(Consumer<LocalDateTime> action) {
+        lock.writeLock().lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            applyTransitions(now);
+            action.accept(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyTransitions(LocalDateTime now) {
+        while (!transitions.isEmpty() && !transitions.peek().at.isAfter(now)) {
+            Transition transition = transitions.poll();
+            increment(transition.booking, transition.from, -1);
+            increment(transition.booking, transition.to, 1);
+        }
+    }
+
+    private void add(BookingTimeline booking, LocalDateTime now) {
+        State state = stateAt(booking, now);
+        increment(booking, State.ALL, 1);
+        increment(booking, state, 1);
+        increment(booking, stateOf(booking.getStatus()), 1);
+        if (state == State.FUTURE) {
+            transitions.add(new Transition(booking.getStartDate(), booking, State.FUTURE, State.CURRENT));
+        }
+        if (state != State.PAST) {
+            transitions.add(new Transition(booking.getEndDate(), booking, State.CURRENT, State.PAST));
+        }
+    }
+
+    private void increment(BookingTimeline booking, State state, long delta) {
+        if (state == null) {
+            return;
+        }
+        bookerCounters.computeIfAbsent(booking.getBookerId(), id -> new long[State.values().length])
+                [state.ordinal()] += delta;
+        ownerCounters.computeIfAbsent(booking.getOwnerId(), id -> new long[State.values().length])
+                [state.ordinal()] += delta;
+    }
+
+    private BookingSummaryDto toSummary(Map<Long, long[]> counters, long userId) {
+        long[] values;
+        lock.readLock().lock();
+        try {
+            values = counters.getOrDefault(userId, EMPTY).clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return BookingSummaryDto.builder()
+                .all(values[State.ALL.ordinal()])
+                .current(values[State.CURRENT.ordinal()])
+                .past(values[State.PAST.ordinal()])
+                .future(values[State.FUTURE.ordinal()])
+                .waiting(values[State.WAITING.ordinal()])
+                .rejected(values[State.REJECTED.ordinal()])
+                .build();
+    }
+
+    private static State stateAt(BookingTimeline booking, LocalDateTime now) {
+        if (booking.getStartDate().isAfter(now)) {
+            return State.FUTURE;
+        }
+        return booking.getEndDate().isAfter(now) ? State.CURRENT : State.PAST;
+    }
+
+    private static State stateOf(Status status) {
+        switch (status) {
+            case WAITING:
+                return State.WAITING;
+            case REJECTED:
+                return State.REJECTED;
+            default:
+                return null;
+        }
+    }
+
+    private static BookingTimeline toTimeline(Booking booking) {
+        return new BookingTimeline(booking.getId(), booking.getBooker().getId(), booking.getItem().getOwnerId(),
+                booking.getStatus(), booking.getStartDate(), booking.getEndDate());
+    }
+
+    @RequiredArgsConstructor
+    private static class Transition {
+        private final LocalDateTime at;
+        private final BookingTimeline booking;
+        private final State from;
+        private final State to;
+    }
+}
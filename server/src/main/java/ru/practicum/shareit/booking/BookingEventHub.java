@@ -0,0 +1,216 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exceptions.ServiceUnavailableException;
+import ru.practicum.shareit.mappers.BookingMapper;
+import ru.practicum.shareit.user.UserStorage;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ru.practicum.shareit.utilities.Transactions.afterCommit;
+
+@Slf4j
+@Component
+public class BookingEventHub {
+    private static final String HEARTBEAT = "keep-alive";
+
+    private final UserStorage userStorage;
+    private final Map<Long, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribersCount = new AtomicInteger();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ThreadPoolExecutor senders;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerUser;
+    private final int queueCapacity;
+    private final Duration timeout;
+
+    public BookingEventHub(UserStorage userStorage,
+                           @Value("${booking.events.max-subscribers:1000}") int maxSubscribers,
+                           @Value("${booking.events.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                           @Value("${booking.events.queue-capacity:64}") int queueCapacity,
+                           @Value("${booking.events.timeout:30m}") Duration timeout,
+                           @Value("${booking.events.heartbeat:15s}") Duration heartbeat,
+                           @Value("${booking.events.sender-threads:16}") int senderThreads) {
+        this.userStorage = userStorage;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxSubscribers));
+        this.senders.allowCoreThreadTimeOut(true);
+        this.heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeat,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        if (!userStorage.existsById(userId)) {
+            throw new EntityNotFoundException(String.format("User with ID %s", userId));
+        }
+        if (subscribersCount.incrementAndGet() > maxSubscribers) {
+            subscribersCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many booking event subscribers");
+        }
+
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Deque<Subscriber> result = userSubscribers != null ? userSubscribers : new ConcurrentLinkedDeque<>();
+            result.addLast(subscriber);
+            while (result.size() > maxSubscribersPerUser) {
+                evicted.add(result.pollFirst());
+            }
+            return result;
+        });
+        evicted.forEach(Subscriber::close);
+        return subscriber.emitter;
+    }
+
+    public void publish(Booking booking) {
+        publish(List.of(booking));
+    }
+
+    public void publish(Collection<Booking> bookings) {
+        List<Event> events = new ArrayList<>();
+        for (Booking booking : bookings) {
+            GetBookingDto bookingDto = BookingMapper.toGetBookingDtoFromBooking(booking);
+            String name = booking.getStatus().name().toLowerCase();
+            events.add(new Event(booking.getBooker().getId(), name, bookingDto));
+            events.add(new Event(booking.getItem().getOwnerId(), name, bookingDto));
+        }
+        afterCommit(() -> events.forEach(this::send));
+    }
+
+    public int getSubscribersCount() {
+        return subscribersCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::close));
+    }
+
+    private void send(Event event) {
+        Deque<Subscriber> userSubscribers = subscribers.get(event.userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .id(String.valueOf(event.booking.getId()))
+                    .name(event.name)
+                    .data(event.booking, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void sendHeartbeat() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers
+                .forEach(subscriber -> subscriber.offer(SseEmitter.event().comment(HEARTBEAT))));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscribersCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+                userSubscribers.remove(subscriber);
+                return userSubscribers.isEmpty() ? null : userSubscribers;
+            });
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Event {
+        private final long userId;
+        private final String name;
+        private final GetBookingDto booking;
+    }
+
+    @RequiredArgsConstructor
+    private class Subscriber {
+        private final long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (removed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.warn("Booking events subscriber of user {} is too slow, disconnecting", userId);
+                close();
+                return;
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::sendQueued);
+            } catch (RejectedExecutionException e) {
+                log.warn("No sender available for booking events subscriber of user {}, disconnecting", userId);
+                draining.set(false);
+                close();
+            }
+        }
+
+        private void sendQueued() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Booking events subscriber of user {} is gone: {}", userId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() && !removed.get()) {
+                drain();
+            }
+        }
+
+        private void close() {
+            remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.GetBookingDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class BookingExporter {
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+
+    public void exportUserBookings(long userId, OutputStream out) throws IOException {
+        export(action -> bookingService.exportUserBookings(userId, action), out);
+    }
+
+    public void exportOwnerBookings(long userId, OutputStream out) throws IOException {
+        export(action -> bookingService.exportOwnerBookings(userId, action), out);
+    }
+
+    private void export(Consumer<Consumer<GetBookingDto>> bookings, OutputStream out) throws IOException {
+        try {
+            bookings.accept(booking -> writeLine(out, booking));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private void writeLine(OutputStream out, GetBookingDto booking) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(booking));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -11,9 +14,29 @@ public interface BookingService {
 
     List<GetBookingDto> getOwnerBookings(long userId, String state, int from, int size);
 
+    List<GetBookingDto> getUserBookingsAfter(long userId, String state, String cursor, int size);
+
+    List<GetBookingDto> getOwnerBookingsAfter(long userId, String state, String cursor, int size);
+
+    long countUserBookings(long userId, String state);
+
+    long countOwnerBookings(long userId, String state);
+
+    BookingSummaryDto getUserBookingsSummary(long userId);
+
+    BookingSummaryDto getOwnerBookingsSummary(long userId);
+
+    void exportUserBookings(long userId, Consumer<GetBookingDto> action);
+
+    void exportOwnerBookings(long userId, Consumer<GetBookingDto> action);
+
     GetBookingDto getBookingByUserOwner(long userId, long bookingId);
 
     GetBookingDto create(long userid, AddBookingDto addBookingDto);
 
     GetBookingDto approveBooking(long userId, long bookingId, Boolean approved);
+
+    List<BookingBatchResultDto> createAll(long userId, List<AddBookingDto> addBookingDtos);
+
+    List<BookingBatchResultDto> approveAll(long userId, List<Long> bookingIds, Boolean approved);
 }
\ No newline at end of file
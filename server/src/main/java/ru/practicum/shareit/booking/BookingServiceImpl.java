@@ -2,14 +2,17 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.ItemStorage;
 import ru.practicum.shareit.item.model.Item;
@@ -18,13 +21,24 @@ import ru.practicum.shareit.model.State;
 import ru.practicum.shareit.model.Status;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utilities.BookingCursor;
 import ru.practicum.shareit.utilities.ChunkRequest;
 import ru.practicum.shareit.utilities.Constants;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static ru.practicum.shareit.model.Status.APPROVED;
 import static ru.practicum.shareit.model.Status.REJECTED;
 import static ru.practicum.shareit.model.Status.WAITING;
 
@@ -35,6 +49,10 @@ public class BookingServiceImpl implements BookingService {
     private final BookingStorage bookingStorage;
     private final UserStorage userStorage;
     private final ItemStorage itemStorage;
+    private final BookingEventHub bookingEventHub;
+    private final BookingCounters bookingCounters;
+
+    private static final List<Status> ACTIVE_STATUSES = List.of(WAITING, APPROVED);
 
     @Transactional(readOnly = true)
     @Override
@@ -43,9 +61,9 @@ public class BookingServiceImpl implements BookingService {
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         State state = State.valueOf(stateString.toUpperCase());
         LocalDateTime currentMoment = LocalDateTime.now();
-        Page<Booking> bookings;
+        Slice<BookingView> bookings;
 
-        Pageable pageable = new ChunkRequest(from, size, Constants.SORT_BY_START_DATE_DESC);
+        Pageable pageable = new ChunkRequest(from, size, Constants.SORT_BY_START_DATE_AND_ID_DESC);
 
         switch (state) {
             case ALL:
@@ -71,7 +89,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         return bookings.stream()
-                .map(BookingMapper::toGetBookingDtoFromBooking)
+                .map(BookingMapper::toGetBookingDtoFromBookingView)
                 .collect(Collectors.toList());
     }
 
@@ -82,13 +100,13 @@ public class BookingServiceImpl implements BookingService {
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         State state = State.valueOf(stateString.toUpperCase());
         LocalDateTime currentMoment = LocalDateTime.now();
-        Page<Booking> bookings;
+        Slice<BookingView> bookings;
 
-        Pageable pageable = new ChunkRequest(from, size, Constants.SORT_BY_START_DATE_DESC);
+        Pageable pageable = new ChunkRequest(from, size, Constants.SORT_BY_START_DATE_AND_ID_DESC);
 
         switch (state) {
             case ALL:
-                bookings = new PageImpl<>(bookingStorage.findAllByItemOwner(user, pageable));
+                bookings = bookingStorage.findAllByItemOwner(user, pageable);
                 break;
             case CURRENT:
                 bookings = bookingStorage.findAllByItemOwnerAndCurrent(user, currentMoment, pageable);
@@ -110,10 +128,195 @@ public class BookingServiceImpl implements BookingService {
         }
 
         return bookings.stream()
-                .map(BookingMapper::toGetBookingDtoFromBooking)
+                .map(BookingMapper::toGetBookingDtoFromBookingView)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<GetBookingDto> getUserBookingsAfter(long userId, String stateString, String cursorString, int size) {
+        User user = userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        State state = State.valueOf(stateString.toUpperCase());
+        BookingCursor cursor = BookingCursor.decode(cursorString);
+        LocalDateTime currentMoment = LocalDateTime.now();
+        List<BookingView> bookings;
+
+        Pageable pageable = new ChunkRequest(0, size, Constants.SORT_BY_START_DATE_AND_ID_DESC);
+
+        switch (state) {
+            case ALL:
+                bookings = bookingStorage.findAllByBookerAfter(user,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case CURRENT:
+                bookings = bookingStorage.findAllByBookerAndCurrentAfter(user, currentMoment,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case PAST:
+                bookings = bookingStorage.findAllByBookerAndPastAfter(user, currentMoment,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                bookings = bookingStorage.findAllByBookerAndFutureAfter(user, currentMoment,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case WAITING:
+                bookings = bookingStorage.findAllByBookerAndStatusAfter(user, WAITING,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                bookings = bookingStorage.findAllByBookerAndStatusAfter(user, REJECTED,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            default:
+                throw new MethodArgumentException(String.format("Illegal state = %s", state));
+        }
+
+        return bookings.stream()
+                .map(BookingMapper::toGetBookingDtoFromBookingView)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<GetBookingDto> getOwnerBookingsAfter(long userId, String stateString, String cursorString, int size) {
+        User user = userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        State state = State.valueOf(stateString.toUpperCase());
+        BookingCursor cursor = BookingCursor.decode(cursorString);
+        LocalDateTime currentMoment = LocalDateTime.now();
+        List<BookingView> bookings;
+
+        Pageable pageable = new ChunkRequest(0, size, Constants.SORT_BY_START_DATE_AND_ID_DESC);
+
+        switch (state) {
+            case ALL:
+                bookings = bookingStorage.findAllByItemOwnerAfter(user,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case CURRENT:
+                bookings = bookingStorage.findAllByItemOwnerAndCurrentAfter(user, currentMoment,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case PAST:
+                bookings = bookingStorage.findAllByItemOwnerAndPastAfter(user, currentMoment,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                bookings = bookingStorage.findAllByItemOwnerAndFutureAfter(user, currentMoment,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case WAITING:
+                bookings = bookingStorage.findAllByItemOwnerAndStatusAfter(user, WAITING,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                bookings = bookingStorage.findAllByItemOwnerAndStatusAfter(user, REJECTED,
+                        cursor.getStartDate(), cursor.getId(), pageable);
+                break;
+            default:
+                throw new MethodArgumentException(String.format("Illegal state = %s", state));
+        }
+
+        return bookings.stream()
+                .map(BookingMapper::toGetBookingDtoFromBookingView)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public long countUserBookings(long userId, String stateString) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        State state = State.valueOf(stateString.toUpperCase());
+        LocalDateTime currentMoment = LocalDateTime.now();
+
+        switch (state) {
+            case ALL:
+                return bookingStorage.countByBookerId(userId);
+            case CURRENT:
+                return bookingStorage.countByBookerIdAndStartDateBeforeAndEndDateAfter(userId,
+                        currentMoment, currentMoment);
+            case PAST:
+                return bookingStorage.countByBookerIdAndEndDateBefore(userId, currentMoment);
+            case FUTURE:
+                return bookingStorage.countByBookerIdAndStartDateAfter(userId, currentMoment);
+            case WAITING:
+                return bookingStorage.countByBookerIdAndStatus(userId, WAITING);
+            case REJECTED:
+                return bookingStorage.countByBookerIdAndStatus(userId, REJECTED);
+            default:
+                throw new MethodArgumentException(String.format("Illegal state = %s", state));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long countOwnerBookings(long userId, String stateString) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        State state = State.valueOf(stateString.toUpperCase());
+        LocalDateTime currentMoment = LocalDateTime.now();
+
+        switch (state) {
+            case ALL:
+                return bookingStorage.countByItemOwnerId(userId);
+            case CURRENT:
+                return bookingStorage.countByItemOwnerIdAndCurrent(userId, currentMoment);
+            case PAST:
+                return bookingStorage.countByItemOwnerIdAndPast(userId, currentMoment);
+            case FUTURE:
+                return bookingStorage.countByItemOwnerIdAndFuture(userId, currentMoment);
+            case WAITING:
+                return bookingStorage.countByItemOwnerIdAndStatus(userId, WAITING);
+            case REJECTED:
+                return bookingStorage.countByItemOwnerIdAndStatus(userId, REJECTED);
+            default:
+                throw new MethodArgumentException(String.format("Illegal state = %s", state));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSummaryDto getUserBookingsSummary(long userId) {
+        if (!userStorage.existsById(userId)) {
+            throw new EntityNotFoundException(String.format("User with ID %s", userId));
+        }
+        return bookingCounters.getBookerSummary(userId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingSummaryDto getOwnerBookingsSummary(long userId) {
+        if (!userStorage.existsById(userId)) {
+            throw new EntityNotFoundException(String.format("User with ID %s", userId));
+        }
+        return bookingCounters.getOwnerSummary(userId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportUserBookings(long userId, Consumer<GetBookingDto> action) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        try (Stream<BookingView> bookings = bookingStorage.streamAllByBookerId(userId)) {
+            bookings.map(BookingMapper::toGetBookingDtoFromBookingView)
+                    .forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportOwnerBookings(long userId, Consumer<GetBookingDto> action) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        try (Stream<BookingView> bookings = bookingStorage.streamAllByItemOwnerId(userId)) {
+            bookings.map(BookingMapper::toGetBookingDtoFromBookingView)
+                    .forEach(action);
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public GetBookingDto getBookingByUserOwner(long userId, long bookingId) {
@@ -121,7 +324,7 @@ public class BookingServiceImpl implements BookingService {
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         Booking booking = bookingStorage.findById(bookingId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Booking bookingId ID %s", bookingId)));
-        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
+        if (booking.getBooker().getId() != userId && booking.getItem().getOwnerId() != userId) {
             throw new EntityNotFoundException(String.format("Booking bookingId ID %s", bookingId));
         }
         return BookingMapper.toGetBookingDtoFromBooking(booking);
@@ -131,46 +334,189 @@ public class BookingServiceImpl implements BookingService {
     public GetBookingDto create(long userId, AddBookingDto addBookingDto) {
         User user = userStorage.findById(userId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
-        if (addBookingDto.getEnd().isBefore(addBookingDto.getStart()) ||
-                addBookingDto.getEnd().isEqual(addBookingDto.getStart())) {
-            throw new NotValidDateException("End date can't be before or equal start date");
-        }
+        checkDates(addBookingDto);
 
-        Item item = itemStorage.findById(addBookingDto.getItemId()).orElseThrow(
+        Item item = itemStorage.findByIdForUpdate(addBookingDto.getItemId()).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with ID %s", addBookingDto.getItemId())));
-        if (!item.getAvailable()) {
-            throw new ActionNotAvailableException("Item is not available for booking");
-        }
-        if (item.getOwner().getId() == userId) {
-            throw new EntityNotFoundException("You can't book your own item");
+        checkItemBookable(userId, item);
+        if (bookingStorage.existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(item.getId(),
+                ACTIVE_STATUSES, addBookingDto.getEnd(), addBookingDto.getStart())) {
+            throw new ActionNotAvailableException("Item is already booked for these dates");
         }
 
         Booking booking = BookingMapper.toBookingFromCreateBookingDto(addBookingDto);
         booking.setBooker(user);
         booking.setItem(item);
         booking.setStatus(WAITING);
-        return BookingMapper.toGetBookingDtoFromBooking(bookingStorage.save(booking));
+        Booking savedBooking = bookingStorage.save(booking);
+        bookingEventHub.publish(savedBooking);
+        bookingCounters.created(List.of(savedBooking));
+        return BookingMapper.toGetBookingDtoFromBooking(savedBooking);
     }
 
     @Override
     public GetBookingDto approveBooking(long userId, long bookingId, Boolean approved) {
         userStorage.findById(userId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
-        Booking booking = bookingStorage.findById(bookingId).orElseThrow(
+        Booking booking = bookingStorage.findByIdForUpdate(bookingId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Booking with ID %s", bookingId)));
-        if (booking.getItem().getOwner().getId() != userId) {
+        if (booking.getItem().getOwnerId() != userId) {
             throw new EntityNotFoundException(String.format("Booking with ID %s", booking.getId()));
         }
-        Status status;
+        Status previous = booking.getStatus();
+        booking.setStatus(resolveStatus(booking, approved));
+        Booking savedBooking = bookingStorage.save(booking);
+        bookingEventHub.publish(savedBooking);
+        bookingCounters.statusChanged(savedBooking, previous);
+        return BookingMapper.toGetBookingDtoFromBooking(savedBooking);
+    }
+
+    @Override
+    public List<BookingBatchResultDto> createAll(long userId, List<AddBookingDto> addBookingDtos) {
+        User user = userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        if (addBookingDtos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Item> items = itemStorage.findAllByIdInForUpdate(addBookingDtos.stream()
+                        .map(AddBookingDto::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> activeBookings = findActiveBookings(items.keySet(), addBookingDtos);
+
+        Map<Integer, Booking> created = new HashMap<>();
+        Map<Integer, BookingBatchResultDto> failed = new HashMap<>();
+        for (int i = 0; i < addBookingDtos.size(); i++) {
+            AddBookingDto addBookingDto = addBookingDtos.get(i);
+            try {
+                checkDates(addBookingDto);
+                Item item = items.get(addBookingDto.getItemId());
+                if (item == null) {
+                    throw new EntityNotFoundException(String.format("Item with ID %s", addBookingDto.getItemId()));
+                }
+                checkItemBookable(userId, item);
+                List<Booking> itemBookings = activeBookings.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                if (itemBookings.stream().anyMatch(booking -> overlaps(booking, addBookingDto))) {
+                    throw new ActionNotAvailableException("Item is already booked for these dates");
+                }
+
+                Booking booking = BookingMapper.toBookingFromCreateBookingDto(addBookingDto);
+                booking.setBooker(user);
+                booking.setItem(item);
+                booking.setStatus(WAITING);
+                itemBookings.add(booking);
+                created.put(i, booking);
+            } catch (EntityNotFoundException e) {
+                failed.put(i, toFailedResult(i, HttpStatus.NOT_FOUND, e));
+            } catch (ActionNotAvailableException | NotValidDateException e) {
+                failed.put(i, toFailedResult(i, HttpStatus.BAD_REQUEST, e));
+            }
+        }
+        bookingStorage.saveAll(created.values());
+        bookingEventHub.publish(created.values());
+        bookingCounters.created(created.values());
+
+        return IntStream.range(0, addBookingDtos.size())
+                .mapToObj(i -> created.containsKey(i) ?
+                        BookingMapper.toBookingBatchResultDto(i, created.get(i))
+                        : failed.get(i))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingBatchResultDto> approveAll(long userId, List<Long> bookingIds, Boolean approved) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        if (bookingIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Booking> bookings = bookingStorage.findAllByIdInForUpdate(bookingIds)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<Booking> changed = new ArrayList<>();
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        for (int i = 0; i < bookingIds.size(); i++) {
+            Long bookingId = bookingIds.get(i);
+            Booking booking = bookings.get(bookingId);
+            try {
+                if (booking == null || booking.getItem().getOwnerId() != userId) {
+                    throw new EntityNotFoundException(String.format("Booking with ID %s", bookingId));
+                }
+                Status previous = booking.getStatus();
+                booking.setStatus(resolveStatus(booking, approved));
+                bookingCounters.statusChanged(booking, previous);
+                changed.add(booking);
+                results.add(BookingMapper.toBookingBatchResultDto(i, booking));
+            } catch (EntityNotFoundException e) {
+                results.add(toFailedResult(i, HttpStatus.NOT_FOUND, e));
+            } catch (ActionNotAvailableException e) {
+                results.add(toFailedResult(i, HttpStatus.BAD_REQUEST, e));
+            }
+        }
+        bookingStorage.saveAll(changed);
+        bookingEventHub.publish(changed);
+        return results;
+    }
+
+    private Map<Long, List<Booking>> findActiveBookings(Set<Long> itemIds, List<AddBookingDto> addBookingDtos) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        LocalDateTime earliestStart = addBookingDtos.stream()
+                .map(AddBookingDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime latestEnd = addBookingDtos.stream()
+                .map(AddBookingDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        return bookingStorage.findAllByItemIdInAndStatusInAndStartDateBeforeAndEndDateAfter(itemIds,
+                        ACTIVE_STATUSES, latestEnd, earliestStart)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        HashMap::new, Collectors.toCollection(ArrayList::new)));
+    }
+
+    private static boolean overlaps(Booking booking, AddBookingDto addBookingDto) {
+        return booking.getStartDate().isBefore(addBookingDto.getEnd())
+                && booking.getEndDate().isAfter(addBookingDto.getStart());
+    }
+
+    private static void checkDates(AddBookingDto addBookingDto) {
+        if (addBookingDto.getEnd().isBefore(addBookingDto.getStart()) ||
+                addBookingDto.getEnd().isEqual(addBookingDto.getStart())) {
+            throw new NotValidDateException("End date can't be before or equal start date");
+        }
+    }
+
+    private static void checkItemBookable(long userId, Item item) {
+        if (!item.getAvailable()) {
+            throw new ActionNotAvailableException("Item is not available for booking");
+        }
+        if (item.getOwnerId() == userId) {
+            throw new EntityNotFoundException("You can't book your own item");
+        }
+    }
+
+    private static Status resolveStatus(Booking booking, Boolean approved) {
         if (approved) {
-            if (booking.getStatus() == Status.APPROVED) {
+            if (booking.getStatus() == APPROVED) {
                 throw new ActionNotAvailableException("Booking already confirmed");
             }
-            status = Status.APPROVED;
-        } else {
-            status = REJECTED;
+            return APPROVED;
         }
-        booking.setStatus(status);
-        return BookingMapper.toGetBookingDtoFromBooking(bookingStorage.save(booking));
+        return REJECTED;
+    }
+
+    private static BookingBatchResultDto toFailedResult(int index, HttpStatus status, RuntimeException e) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .error(e.getMessage())
+                .build();
     }
 }
\ No newline at end of file
@@ -1,18 +1,30 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingTimeline;
+import ru.practicum.shareit.booking.model.BookingView;
 
 import ru.practicum.shareit.model.Status;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+import static ru.practicum.shareit.utilities.ServerConstants.BOOKING_EXPORT_FETCH_SIZE;
 
 public interface BookingStorage extends JpaRepository<Booking, Long> {
 
@@ -22,111 +34,251 @@ public interface BookingStorage extends JpaRepository<Booking, Long> {
             "WHERE b.id = :id ")
     Optional<Booking> findById(@Param("id") Long id);
 
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item " +
-            "WHERE bk = :user ",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.booker = :user ")
-    Page<Booking> findAllByBooker(@Param("user") User booker, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.id = :id ")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
 
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item " +
-            "WHERE bk = :user " +
-            "   AND b.startDate < :time " +
-            "   AND b.endDate > :time",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.booker = :user " +
-                    "   AND b.startDate < :time " +
-                    "   AND b.endDate > :time")
-    Page<Booking> findAllByBookerAndCurrent(@Param("user") User booker,
-                                            @Param("time") LocalDateTime currentTime, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item " +
-            "WHERE bk = :user " +
-            "   AND b.endDate < :time",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.booker = :user " +
-                    "   AND b.endDate < :time")
-    Page<Booking> findAllByBookerAndPast(@Param("user") User booker,
-                                         @Param("time") LocalDateTime currentTime, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item " +
-            "WHERE bk = :user " +
-            "   AND b.startDate > :time",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.booker = :user " +
-                    "   AND b.startDate > :time")
-    Page<Booking> findAllByBookerAndFuture(@Param("user") User booker,
-                                           @Param("time") LocalDateTime currentTime, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item " +
-            "WHERE bk = :user " +
-            "   AND b.status = :status",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.booker = :user " +
-                    "   AND b.status = :status")
-    Page<Booking> findAllByBookerAndStatus(@Param("user") User booker,
-                                           @Param("status") Status status, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker " +
-            "JOIN FETCH b.item " +
-            "WHERE b.item.owner = :user ",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.item.owner= :user ")
-    List<Booking> findAllByItemOwner(@Param("user") User itemOwner, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item i " +
-            "WHERE i.owner = :user " +
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.id IN :ids " +
+            "ORDER BY b.id")
+    List<Booking> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :ids " +
+            "   AND b.status = :status " +
+            "   AND (b.startDate = (SELECT max(l.startDate) FROM Booking l " +
+            "           WHERE l.item = b.item AND l.status = :status AND l.startDate < :time) " +
+            "       OR b.startDate = (SELECT min(n.startDate) FROM Booking n " +
+            "           WHERE n.item = b.item AND n.status = :status AND n.startDate > :time))")
+    List<Booking> findLastAndNextByItemIdIn(@Param("ids") Collection<Long> itemIds,
+                                            @Param("status") Status status,
+                                            @Param("time") LocalDateTime currentTime);
+
+    boolean existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(Long itemId, Collection<Status> statuses,
+                                                                       LocalDateTime end, LocalDateTime start);
+
+    List<Booking> findAllByItemIdInAndStatusInAndStartDateBeforeAndEndDateAfter(Collection<Long> itemIds,
+                                                                               Collection<Status> statuses,
+                                                                               LocalDateTime end, LocalDateTime start);
+
+    String BOOKING_TIMELINE = "SELECT new ru.practicum.shareit.booking.model.BookingTimeline(" +
+            "b.id, b.booker.id, b.itemOwner.id, b.status, b.startDate, b.endDate) " +
+            "FROM Booking b ";
+
+    @Query(BOOKING_TIMELINE +
+            "WHERE b.id > :id")
+    List<BookingTimeline> findAllTimelinesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(BOOKING_TIMELINE +
+            "WHERE b.item.id = :id")
+    List<BookingTimeline> findAllTimelinesByItemId(@Param("id") Long itemId);
+
+    @Query(BOOKING_TIMELINE +
+            "JOIN b.item i " +
+            "LEFT JOIN i.request r " +
+            "WHERE b.booker.id = :id OR b.itemOwner.id = :id OR r.requester.id = :id")
+    List<BookingTimeline> findAllTimelinesByUserId(@Param("id") Long userId);
+
+    String BOOKING_VIEW = "SELECT new ru.practicum.shareit.booking.model.BookingView(" +
+            "b.id, b.startDate, b.endDate, b.status, b.booker.id, i.id, i.name) " +
+            "FROM Booking b " +
+            "JOIN b.item i ";
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user ")
+    Slice<BookingView> findAllByBooker(@Param("user") User booker, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
             "   AND b.startDate < :time " +
-            "   AND b.endDate > :time",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.item.owner = :user " +
-                    "   AND b.startDate < :time " +
-                    "   AND b.endDate > :time")
-    Page<Booking> findAllByItemOwnerAndCurrent(@Param("user") User itemOwner,
-                                               @Param("time") LocalDateTime currentTime, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item i " +
-            "WHERE i.owner = :user " +
-            "   AND b.endDate < :time",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.item.owner = :user " +
-                    "   AND b.endDate < :time")
-    Page<Booking> findAllByItemOwnerAndPast(@Param("user") User itemOwner,
-                                            @Param("time") LocalDateTime currentTime, Pageable pageable);
-
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item i " +
-            "WHERE i.owner = :user " +
-            "   AND b.startDate > :time",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.item.owner = :user " +
-                    "   AND b.startDate > :time")
-    Page<Booking> findAllByItemOwnerAndFuture(@Param("user") User itemOwner,
+            "   AND b.endDate > :time")
+    Slice<BookingView> findAllByBookerAndCurrent(@Param("user") User booker,
+                                                 @Param("time") LocalDateTime currentTime, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.endDate < :time")
+    Slice<BookingView> findAllByBookerAndPast(@Param("user") User booker,
                                               @Param("time") LocalDateTime currentTime, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b " +
-            "JOIN FETCH b.booker bk " +
-            "JOIN FETCH b.item i " +
-            "WHERE i.owner = :user " +
-            "   AND b.status = :status",
-            countQuery = "SELECT b FROM Booking b " +
-                    "WHERE b.item.owner = :user " +
-                    "   AND b.status = :status")
-    Page<Booking> findAllByItemOwnerAndStatus(@Param("user") User itemOwner,
-                                              @Param("status") Status status, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.startDate > :time")
+    Slice<BookingView> findAllByBookerAndFuture(@Param("user") User booker,
+                                                @Param("time") LocalDateTime currentTime, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.status = :status")
+    Slice<BookingView> findAllByBookerAndStatus(@Param("user") User booker,
+                                                @Param("status") Status status, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user ")
+    Slice<BookingView> findAllByItemOwner(@Param("user") User itemOwner, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.startDate < :time " +
+            "   AND b.endDate > :time")
+    Slice<BookingView> findAllByItemOwnerAndCurrent(@Param("user") User itemOwner,
+                                                    @Param("time") LocalDateTime currentTime, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.endDate < :time")
+    Slice<BookingView> findAllByItemOwnerAndPast(@Param("user") User itemOwner,
+                                                 @Param("time") LocalDateTime currentTime, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.startDate > :time")
+    Slice<BookingView> findAllByItemOwnerAndFuture(@Param("user") User itemOwner,
+                                                   @Param("time") LocalDateTime currentTime, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.status = :status")
+    Slice<BookingView> findAllByItemOwnerAndStatus(@Param("user") User itemOwner,
+                                                   @Param("status") Status status, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = BOOKING_EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :id " +
+            "ORDER BY b.startDate DESC, b.id DESC")
+    Stream<BookingView> streamAllByBookerId(@Param("id") Long bookerId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = BOOKING_EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner.id = :id " +
+            "ORDER BY b.startDate DESC, b.id DESC")
+    Stream<BookingView> streamAllByItemOwnerId(@Param("id") Long ownerId);
+
+    long countByBookerId(Long bookerId);
+
+    long countByBookerIdAndStartDateBeforeAndEndDateAfter(Long bookerId, LocalDateTime startBefore,
+                                                          LocalDateTime endAfter);
+
+    long countByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime currentTime);
+
+    long countByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime currentTime);
+
+    long countByBookerIdAndStatus(Long bookerId, Status status);
+
+    @Query("SELECT count(b) FROM Booking b " +
+            "WHERE b.itemOwner.id = :id ")
+    long countByItemOwnerId(@Param("id") Long ownerId);
+
+    @Query("SELECT count(b) FROM Booking b " +
+            "WHERE b.itemOwner.id = :id " +
+            "   AND b.startDate < :time " +
+            "   AND b.endDate > :time")
+    long countByItemOwnerIdAndCurrent(@Param("id") Long ownerId, @Param("time") LocalDateTime currentTime);
+
+    @Query("SELECT count(b) FROM Booking b " +
+            "WHERE b.itemOwner.id = :id " +
+            "   AND b.endDate < :time")
+    long countByItemOwnerIdAndPast(@Param("id") Long ownerId, @Param("time") LocalDateTime currentTime);
+
+    @Query("SELECT count(b) FROM Booking b " +
+            "WHERE b.itemOwner.id = :id " +
+            "   AND b.startDate > :time")
+    long countByItemOwnerIdAndFuture(@Param("id") Long ownerId, @Param("time") LocalDateTime currentTime);
+
+    @Query("SELECT count(b) FROM Booking b " +
+            "WHERE b.itemOwner.id = :id " +
+            "   AND b.status = :status")
+    long countByItemOwnerIdAndStatus(@Param("id") Long ownerId, @Param("status") Status status);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByBookerAfter(@Param("user") User booker,
+                                           @Param("start") LocalDateTime cursorStart,
+                                           @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.startDate < :time " +
+            "   AND b.endDate > :time " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByBookerAndCurrentAfter(@Param("user") User booker,
+                                                     @Param("time") LocalDateTime currentTime,
+                                                     @Param("start") LocalDateTime cursorStart,
+                                                     @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.endDate < :time " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByBookerAndPastAfter(@Param("user") User booker,
+                                                  @Param("time") LocalDateTime currentTime,
+                                                  @Param("start") LocalDateTime cursorStart,
+                                                  @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.startDate > :time " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByBookerAndFutureAfter(@Param("user") User booker,
+                                                    @Param("time") LocalDateTime currentTime,
+                                                    @Param("start") LocalDateTime cursorStart,
+                                                    @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker = :user " +
+            "   AND b.status = :status " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByBookerAndStatusAfter(@Param("user") User booker,
+                                                    @Param("status") Status status,
+                                                    @Param("start") LocalDateTime cursorStart,
+                                                    @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByItemOwnerAfter(@Param("user") User itemOwner,
+                                              @Param("start") LocalDateTime cursorStart,
+                                              @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.startDate < :time " +
+            "   AND b.endDate > :time " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByItemOwnerAndCurrentAfter(@Param("user") User itemOwner,
+                                                        @Param("time") LocalDateTime currentTime,
+                                                        @Param("start") LocalDateTime cursorStart,
+                                                        @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.endDate < :time " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByItemOwnerAndPastAfter(@Param("user") User itemOwner,
+                                                     @Param("time") LocalDateTime currentTime,
+                                                     @Param("start") LocalDateTime cursorStart,
+                                                     @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.startDate > :time " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByItemOwnerAndFutureAfter(@Param("user") User itemOwner,
+                                                       @Param("time") LocalDateTime currentTime,
+                                                       @Param("start") LocalDateTime cursorStart,
+                                                       @Param("id") Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.itemOwner = :user " +
+            "   AND b.status = :status " +
+            "   AND (b.startDate < :start OR (b.startDate = :start AND b.id < :id))")
+    List<BookingView> findAllByItemOwnerAndStatusAfter(@Param("user") User itemOwner,
+                                                       @Param("status") Status status,
+                                                       @Param("start") LocalDateTime cursorStart,
+                                                       @Param("id") Long cursorId, Pageable pageable);
 }
\ No newline at end of file
@@ -16,11 +16,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
-@EqualsAndHashCode(exclude = {"startDate", "endDate", "item", "booker", "status"})
+@EqualsAndHashCode(exclude = {"startDate", "endDate", "item", "itemOwner", "booker", "status"})
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id_seq")
+    @SequenceGenerator(name = "booking_id_seq", sequenceName = "booking_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -35,10 +36,22 @@ public class Booking {
     @ToString.Exclude
     private Item item;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_owner_id")
+    @ToString.Exclude
+    private User itemOwner;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     private User booker;
 
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    @PrePersist
+    private void fillItemOwner() {
+        if (itemOwner == null && item != null) {
+            itemOwner = item.getOwner();
+        }
+    }
 }
\ No newline at end of file
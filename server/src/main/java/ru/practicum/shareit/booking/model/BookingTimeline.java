@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.practicum.shareit.model.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingTimeline {
+    private final Long id;
+    private final Long bookerId;
+    private final Long ownerId;
+    private final Status status;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+}
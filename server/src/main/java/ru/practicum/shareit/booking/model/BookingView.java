@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.practicum.shareit.model.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BookingView {
+    private final Long id;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Status status;
+    private final Long bookerId;
+    private final Long itemId;
+    private final String itemName;
+}
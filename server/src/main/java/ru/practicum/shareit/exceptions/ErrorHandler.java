@@ -31,6 +31,13 @@ public class ErrorHandler {
         return new ErrorResponse("Entity error", e.getMessage());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceUnavailableException(final ServiceUnavailableException e) {
+        log.error("Response status 503 Service unavailable {}", e.getMessage(), e);
+        return new ErrorResponse("Service unavailable", e.getMessage());
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleConstraintViolationException(ConstraintViolationException e) {
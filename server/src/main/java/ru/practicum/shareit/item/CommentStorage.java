@@ -1,7 +1,23 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentStorage extends JpaRepository<Comment, Long> {
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id IN :ids ")
+    List<Comment> findAllByItemIdIn(@Param("ids") Collection<Long> itemIds);
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id = :id ")
+    List<Comment> findAllByItemId(@Param("id") Long itemId, Pageable pageable);
 }
\ No newline at end of file
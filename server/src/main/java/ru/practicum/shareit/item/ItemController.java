@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import ru.practicum.shareit.exceptions.MethodArgumentException;
 import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
@@ -10,11 +13,17 @@ import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.markers.Marker.OnCreate;
 import ru.practicum.shareit.markers.Marker.OnUpdate;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import static ru.practicum.shareit.utilities.Constants.ITEM_IMPORT_BATCH_SIZE;
+import static ru.practicum.shareit.utilities.Constants.ITEM_IMPORT_MAX_BATCH_SIZE;
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 
 @RestController
@@ -23,6 +32,7 @@ import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 @Validated
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
 
     @GetMapping
     public List<GetItemDto> getAllByUserId(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
@@ -54,6 +64,21 @@ public class ItemController {
         return itemService.update(userId, itemId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                            @RequestParam(defaultValue = ITEM_IMPORT_BATCH_SIZE)
+                            @Min(1) @Max(ITEM_IMPORT_MAX_BATCH_SIZE) int batchSize,
+                            InputStream body,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        if (batchSize < 1 || batchSize > ITEM_IMPORT_MAX_BATCH_SIZE) {
+            throw new MethodArgumentException(String.format("Illegal batchSize = %s", batchSize));
+        }
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemImporter.importItems(userId, batchSize, body, response.getOutputStream());
+    }
+
     @DeleteMapping("/{itemId}")
     public void delete(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
                        @PathVariable long itemId) {
@@ -77,4 +102,14 @@ public class ItemController {
                                        @Valid AddCommentDto commentDto) {
         return itemService.createComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public List<GetCommentDto> getComments(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+                                           @PathVariable long itemId,
+                                           @RequestParam(defaultValue = "0")
+                                           @Min(0) @Max(Integer.MAX_VALUE) int from,
+                                           @RequestParam(defaultValue = "20")
+                                           @Min(1) @Max(20) int size) {
+        return itemService.getComments(userId, itemId, from, size);
+    }
 }
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
+import ru.practicum.shareit.item.dto.ItemImportProgressDto;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public void importItems(long userId, int batchSize, InputStream in, OutputStream out) throws IOException {
+        List<ItemImportLineDto> batch = new ArrayList<>(batchSize);
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        long processed = 0;
+        long failed = 0;
+
+        try (MappingIterator<ItemImportLineDto> lines = objectMapper.readerFor(ItemImportLineDto.class)
+                .readValues(in)) {
+            while (lines.hasNextValue()) {
+                ItemImportLineDto line = lines.nextValue();
+                processed++;
+                if (line.getError() != null || line.getItem() == null) {
+                    errors.add(ItemImportErrorDto.builder()
+                            .line(line.getLine())
+                            .error(line.getError() != null ? line.getError() : "Item must not be null")
+                            .build());
+                } else {
+                    batch.add(line);
+                }
+                if (batch.size() + errors.size() >= batchSize) {
+                    errors.addAll(flush(userId, batch));
+                    failed += errors.size();
+                    write(out, errors, processed, failed, false);
+                    errors.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            errors.addAll(flush(userId, batch));
+        }
+        failed += errors.size();
+        write(out, errors, processed, failed, true);
+    }
+
+    private List<ItemImportErrorDto> flush(long userId, List<ItemImportLineDto> batch) {
+        List<ItemImportErrorDto> errors;
+        try {
+            errors = itemService.createAll(userId, batch);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to import a batch of {} items for user {}", batch.size(), userId, e);
+            errors = batch.stream()
+                    .map(line -> ItemImportErrorDto.builder()
+                            .line(line.getLine())
+                            .error(e.getMostSpecificCause().getMessage())
+                            .build())
+                    .collect(Collectors.toList());
+        }
+        batch.clear();
+        entityManager.clear();
+        return errors;
+    }
+
+    private void write(OutputStream out, List<ItemImportErrorDto> errors, long processed, long failed,
+                       boolean completed) throws IOException {
+        for (ItemImportErrorDto error : errors) {
+            writeLine(out, error);
+        }
+        writeLine(out, ItemImportProgressDto.builder()
+                .processed(processed)
+                .imported(processed - failed)
+                .failed(failed)
+                .completed(completed)
+                .build());
+        out.flush();
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+}
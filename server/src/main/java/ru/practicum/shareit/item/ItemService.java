@@ -12,6 +12,8 @@ public interface ItemService {
 
     GetItemDto create(long userId, AddOrUpdateItemDto addOrUpdateItemDto);
 
+    List<ItemImportErrorDto> createAll(long userId, List<ItemImportLineDto> lines);
+
     GetItemDto update(long userId, long itemId, AddOrUpdateItemDto updateItemDto);
 
     void delete(long userId, long itemId);
@@ -19,4 +21,6 @@ public interface ItemService {
     List<GetItemDto> search(long userId, String text, int from, int size);
 
     GetCommentDto createComment(long userId, long itemId, AddCommentDto commentDto);
+
+    List<GetCommentDto> getComments(long userId, long itemId, int from, int size);
 }
\ No newline at end of file
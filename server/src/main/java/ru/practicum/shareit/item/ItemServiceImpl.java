@@ -6,11 +6,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.apache.commons.lang3.StringUtils;
 
+import ru.practicum.shareit.booking.BookingCounters;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.MethodArgumentException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.mappers.CommentMapper;
 import ru.practicum.shareit.mappers.ItemMapper;
 
@@ -23,12 +27,19 @@ import ru.practicum.shareit.utilities.ChunkRequest;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.model.Status.APPROVED;
+import static ru.practicum.shareit.utilities.Constants.SORT_BY_CREATED_DESC;
 import static ru.practicum.shareit.utilities.Constants.SORT_BY_ID_ASC;
+import static ru.practicum.shareit.utilities.ServerConstants.ITEM_COMMENTS_PAGE_SIZE;
 
 @Service
 @RequiredArgsConstructor
@@ -38,17 +49,38 @@ public class ItemServiceImpl implements ItemService {
     private final UserStorage userStorage;
     private final CommentStorage commentStorage;
     private final ItemRequestStorage requestStorage;
+    private final BookingStorage bookingStorage;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingCounters bookingCounters;
 
     @Transactional(readOnly = true)
     @Override
     public List<GetItemDto> getAllByUserId(long userId, int from, int size) {
         Pageable pageable = new ChunkRequest(from, size, SORT_BY_ID_ASC);
-        List<Item> items = itemStorage.findAllByOwnerId(userId, pageable).getContent();
-        return (!items.isEmpty() && items.get(0).getOwner().getId() == userId) ?
-                items.stream()
-                        .map(ItemMapper::toGetItemWIthBookingDtoFromItem)
-                        .collect(Collectors.toList())
-                : new ArrayList<>();
+        List<Long> itemIds = itemStorage.findIdsByOwnerId(userId, pageable);
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Item> items = itemStorage.findAllByIdIn(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        splitLastAndNextBookings(bookingStorage.findLastAndNextByItemIdIn(itemIds, APPROVED, currentTime),
+                currentTime, lastBookings, nextBookings);
+        Map<Long, List<Comment>> comments = commentStorage.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        return itemIds.stream()
+                .filter(items::containsKey)
+                .map(id -> ItemMapper.toGetItemWIthBookingDtoFromItem(items.get(id),
+                        lastBookings.get(id),
+                        nextBookings.get(id),
+                        comments.getOrDefault(id, Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -59,9 +91,20 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemStorage.findById(itemId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with ID %s not found", itemId)));
 
-        return item.getOwner().getId() == userId ?
-                ItemMapper.toGetItemWIthBookingDtoFromItem(item)
-                : ItemMapper.toGetItemDtoFromItem(item);
+        List<Comment> comments = findFirstComments(itemId);
+        if (item.getOwnerId() != userId) {
+            return ItemMapper.toGetItemDtoFromItem(item, comments);
+        }
+
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        splitLastAndNextBookings(bookingStorage.findLastAndNextByItemIdIn(List.of(itemId), APPROVED, currentTime),
+                currentTime, lastBookings, nextBookings);
+        return ItemMapper.toGetItemWIthBookingDtoFromItem(item,
+                lastBookings.get(itemId),
+                nextBookings.get(itemId),
+                comments);
     }
 
     @Override
@@ -76,7 +119,43 @@ public class ItemServiceImpl implements ItemService {
                             String.format("Request with ID %s", createUpdateItemDto.getRequestId())));
             item.setRequest(request);
         }
-        return ItemMapper.toGetItemDtoFromItem(itemStorage.save(item));
+        Item savedItem = itemStorage.save(item);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toGetItemDtoFromItem(savedItem);
+    }
+
+    @Override
+    public List<ItemImportErrorDto> createAll(long userId, List<ItemImportLineDto> lines) {
+        User user = userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        Set<Long> requestIds = lines.stream()
+                .map(line -> line.getItem().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() : requestStorage.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Item> items = new ArrayList<>();
+        List<ItemImportErrorDto> errors = new ArrayList<>();
+        for (ItemImportLineDto line : lines) {
+            Long requestId = line.getItem().getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                errors.add(ItemImportErrorDto.builder()
+                        .line(line.getLine())
+                        .error(String.format("Request with ID %s", requestId))
+                        .build());
+                continue;
+            }
+            Item item = ItemMapper.toItemFromAddOrUpdateItemDto(line.getItem());
+            item.setOwner(user);
+            if (requestId != null) {
+                item.setRequest(requests.get(requestId));
+            }
+            items.add(item);
+        }
+        itemStorage.saveAll(items).forEach(itemSearchEngine::index);
+        return errors;
     }
 
     @Override
@@ -85,7 +164,7 @@ public class ItemServiceImpl implements ItemService {
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         Item item = itemStorage.findById(itemId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with ID %s", itemId)));
-        if (!item.getOwner().equals(user)) {
+        if (!item.getOwnerId().equals(user.getId())) {
             throw new EntityNotFoundException(
                     String.format("User with ID = %s has no items with ID = %s", user.getId(), item.getId()));
         }
@@ -98,7 +177,9 @@ public class ItemServiceImpl implements ItemService {
         }
         Optional.ofNullable(updateItemDto.getAvailable()).ifPresent(
                 var -> item.setAvailable(updateItemDto.getAvailable()));
-        return ItemMapper.toGetItemDtoFromItem(itemStorage.save(item));
+        Item savedItem = itemStorage.save(item);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toGetItemDtoFromItem(savedItem, findFirstComments(itemId));
     }
 
     @Override
@@ -107,11 +188,13 @@ public class ItemServiceImpl implements ItemService {
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         Item item = itemStorage.findById(itemId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with ID %s", itemId)));
-        if (!item.getOwner().equals(user)) {
+        if (!item.getOwnerId().equals(user.getId())) {
             throw new EntityNotFoundException(
                     String.format("User with ID = %s has no items with ID = %s", user.getId(), item.getId()));
         }
+        bookingCounters.itemDeleted(itemId);
         itemStorage.deleteById(itemId);
+        itemSearchEngine.remove(itemId);
     }
 
     @Transactional(readOnly = true)
@@ -122,11 +205,22 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        Pageable pageable = new ChunkRequest(from, size, SORT_BY_ID_ASC);
-        return itemStorage.search(text, pageable)
-                .getContent()
+        List<Long> itemIds = itemSearchEngine.search(text, from, size);
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> items = itemStorage.findAllByIdIn(itemIds)
                 .stream()
-                .map(ItemMapper::toGetItemDtoFromItem)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Comment>> comments = commentStorage.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        return itemIds.stream()
+                .filter(items::containsKey)
+                .map(id -> ItemMapper.toGetItemDtoFromItem(items.get(id),
+                        comments.getOrDefault(id, Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
@@ -148,6 +242,34 @@ public class ItemServiceImpl implements ItemService {
         throw new MethodArgumentException(String.format("User ID = %s did not book item ID = %s", userId, itemId));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<GetCommentDto> getComments(long userId, long itemId, int from, int size) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        if (!itemStorage.existsById(itemId)) {
+            throw new EntityNotFoundException(String.format("Item with ID %s not found", itemId));
+        }
+        Pageable pageable = new ChunkRequest(from, size, SORT_BY_CREATED_DESC);
+        return commentStorage.findAllByItemId(itemId, pageable)
+                .stream()
+                .map(CommentMapper::toGetCommentDtoFromComment)
+                .collect(Collectors.toList());
+    }
+
+    private List<Comment> findFirstComments(long itemId) {
+        return commentStorage.findAllByItemId(itemId,
+                new ChunkRequest(0, ITEM_COMMENTS_PAGE_SIZE, SORT_BY_CREATED_DESC));
+    }
+
+    private void splitLastAndNextBookings(List<Booking> bookings, LocalDateTime currentTime,
+                                          Map<Long, Booking> lastBookings, Map<Long, Booking> nextBookings) {
+        for (Booking booking : bookings) {
+            Map<Long, Booking> target = booking.getStartDate().isBefore(currentTime) ? lastBookings : nextBookings;
+            target.merge(booking.getItem().getId(), booking, (a, b) -> a.getId() < b.getId() ? a : b);
+        }
+    }
+
     private Boolean isBookingByUser(User user, Item item) {
         LocalDateTime currentTime = LocalDateTime.now();
         return item.getBookings() != null && item.getBookings().stream()
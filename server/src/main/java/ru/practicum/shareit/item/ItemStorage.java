@@ -1,45 +1,65 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ItemStorage extends JpaRepository<Item, Long> {
 
     @Query("SELECT i FROM Item i " +
-            "JOIN FETCH i.owner " +
             "LEFT JOIN FETCH i.request " +
-            "LEFT JOIN FETCH i.bookings " +
-            "LEFT JOIN FETCH i.comments " +
             "WHERE i.id = :id ")
     Optional<Item> findById(@Param("id") Long id);
 
-    @Query(value = "SELECT i FROM Item i " +
-            "JOIN FETCH i.owner o " +
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.id = :id ")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.id IN :ids " +
+            "ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.owner.id = :id ")
+    List<Long> findIdsByOwnerId(@Param("id") Long userId, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i " +
+            "LEFT JOIN i.request r " +
+            "WHERE i.owner.id = :id OR r.requester.id = :id")
+    List<Long> findIdsByOwnerIdOrRequesterId(@Param("id") Long userId);
+
+    @Query("SELECT i FROM Item i " +
             "LEFT JOIN FETCH i.request " +
-            "LEFT JOIN FETCH i.bookings " +
-            "LEFT JOIN FETCH i.comments " +
-            "WHERE o.id = :id ",
-            countQuery = "SELECT count(i) from Item i " +
-                    "WHERE i.owner.id = :id")
-    Page<Item> findAllByOwnerId(@Param("id") Long userId, Pageable pageable);
-
-    @Query(value = "SELECT i from Item i " +
-            "JOIN FETCH i.owner o " +
-            "LEFT JOIN FETCH i.request r " +
-            "LEFT JOIN FETCH i.bookings b " +
-            "LEFT JOIN FETCH i.comments c " +
+            "WHERE i.id IN :ids ")
+    List<Item> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.request.id IN :ids ")
+    List<Item> findAllByRequestIdIn(@Param("ids") Collection<Long> requestIds);
+
+    List<Item> findAllByAvailableTrueAndIdGreaterThan(Long id, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i " +
             "WHERE (lower(i.name) LIKE lower(concat('%', :text, '%')) " +
             "   OR lower(i.description) LIKE lower(concat('%', :text, '%'))) " +
-            "   AND i.available = true ",
-            countQuery = "SELECT count(i) from Item i " +
-                    "WHERE (lower(i.name) LIKE lower(concat('%', :text, '%')) " +
-                    "   OR lower(i.description) LIKE lower(concat('%', :text, '%'))) " +
-                    "   AND i.available = true ")
-    Page<Item> search(@Param("text") String text, Pageable pageable);
+            "   AND i.available = true ")
+    List<Long> searchIds(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT i.id FROM items i " +
+            "WHERE i.search_vector @@ to_tsquery('simple', :query) " +
+            "   AND i.is_available = true " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('simple', :query)) DESC, i.id ",
+            nativeQuery = true)
+    List<Long> searchRankedIds(@Param("query") String query, Pageable pageable);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import org.hibernate.proxy.HibernateProxy;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -18,7 +19,8 @@ import java.util.TreeSet;
 @EqualsAndHashCode(exclude = {"name", "description", "available", "owner"})
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_seq")
+    @SequenceGenerator(name = "item_id_seq", sequenceName = "item_id_seq", allocationSize = 50)
     private Long id;
     @Column(name = "name", length = 255, nullable = false)
     private String name;
@@ -41,7 +43,10 @@ public class Item {
     @ToString.Exclude
     private ItemRequest request;
 
-    public User getOwner() {
-        return owner.toBuilder().build();
+    public Long getOwnerId() {
+        if (owner instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) owner).getHibernateLazyInitializer().getIdentifier();
+        }
+        return owner.getId();
     }
 }
\ No newline at end of file
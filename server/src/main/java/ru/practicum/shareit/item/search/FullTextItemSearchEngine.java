@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.utilities.ChunkRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "fulltext")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemStorage itemStorage;
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemStorage.searchRankedIds(query, new ChunkRequest(from, size, Sort.unsorted()));
+    }
+
+    static String toPrefixQuery(String text) {
+        return ItemTokenizer.tokenize(text)
+                .stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
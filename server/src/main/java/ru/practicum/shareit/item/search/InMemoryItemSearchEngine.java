@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utilities.ChunkRequest;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static ru.practicum.shareit.utilities.Constants.SORT_BY_ID_ASC;
+import static ru.practicum.shareit.utilities.Transactions.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final long[] EMPTY = new long[0];
+
+    private final ItemStorage itemStorage;
+    private final NavigableMap<String, LongPostingList> postings = new TreeMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemStorage.findAllByAvailableTrueAndIdGreaterThan(lastId,
+                        new ChunkRequest(0, LOAD_BATCH_SIZE, SORT_BY_ID_ASC));
+                for (Item item : batch) {
+                    put(item.getId(), tokensOf(item));
+                    lastId = item.getId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            log.info("Item search index built: {} items, {} terms", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        List<String> tokens = ItemTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long[] matches;
+        lock.readLock().lock();
+        try {
+            matches = matchPrefix(tokens.get(0));
+            for (int i = 1; i < tokens.size() && matches.length > 0; i++) {
+                matches = intersect(matches, matchPrefix(tokens.get(i)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> page = new ArrayList<>(Math.min(size, Math.max(matches.length - from, 0)));
+        for (int i = from; i < matches.length && page.size() < size; i++) {
+            page.add(matches[i]);
+        }
+        return page;
+    }
+
+    @Override
+    public void index(Item item) {
+        long id = item.getId();
+        String[] tokens = Boolean.TRUE.equals(item.getAvailable()) ? tokensOf(item) : null;
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(id);
+                if (tokens != null) {
+                    put(id, tokens);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void removeUserItems(long userId) {
+        List<Long> itemIds = itemStorage.findIdsByOwnerIdOrRequesterId(userId);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                itemIds.forEach(this::delete);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(long id, String[] tokens) {
+        documents.put(id, tokens);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> new LongPostingList()).add(id);
+        }
+    }
+
+    private void delete(long id) {
+        String[] tokens = documents.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            LongPostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private long[] matchPrefix(String prefix) {
+        Collection<LongPostingList> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values();
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.iterator().next().toArray();
+        }
+        int total = 0;
+        for (LongPostingList list : lists) {
+            total += list.size();
+        }
+        long[] ids = new long[total];
+        int offset = 0;
+        for (LongPostingList list : lists) {
+            list.copyTo(ids, offset);
+            offset += list.size();
+        }
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static String[] tokensOf(Item item) {
+        return ItemTokenizer.tokenize(item.getName() + " " + item.getDescription()).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.utilities.ChunkRequest;
+
+import java.util.List;
+
+import static ru.practicum.shareit.utilities.Constants.SORT_BY_ID_ASC;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemStorage itemStorage;
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        return itemStorage.searchIds(text, new ChunkRequest(from, size, SORT_BY_ID_ASC));
+    }
+}
@@ -1,10 +1,15 @@
 package ru.practicum.shareit.mappers;
 
 import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpStatus;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.dto.GetItemBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.dto.GetBookingForItemDto;
+import ru.practicum.shareit.user.dto.GetUserForGetBookingDto;
 
 @UtilityClass
 public class BookingMapper {
@@ -35,4 +40,28 @@ public class BookingMapper {
                 .item(ItemMapper.toGetBookingDtoFromItem(booking.getItem()))
                 .build();
     }
+
+    public static BookingBatchResultDto toBookingBatchResultDto(int index, Booking booking) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(HttpStatus.OK.value())
+                .booking(toGetBookingDtoFromBooking(booking))
+                .build();
+    }
+
+    public static GetBookingDto toGetBookingDtoFromBookingView(BookingView booking) {
+        return GetBookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStartDate())
+                .end(booking.getEndDate())
+                .status(booking.getStatus())
+                .booker(GetUserForGetBookingDto.builder()
+                        .id(booking.getBookerId())
+                        .build())
+                .item(GetBookingForItemDto.builder()
+                        .id(booking.getItemId())
+                        .name(booking.getItemName())
+                        .build())
+                .build();
+    }
 }
\ No newline at end of file
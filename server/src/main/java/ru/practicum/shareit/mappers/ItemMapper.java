@@ -4,11 +4,10 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.model.Booking;
 
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.model.Status;
 
-import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.Collection;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -18,9 +17,13 @@ import static ru.practicum.shareit.utilities.ServerConstants.*;
 @UtilityClass
 public class ItemMapper {
     public static GetItemDto toGetItemDtoFromItem(Item item) {
+        return toGetItemDtoFromItem(item, item.getComments());
+    }
+
+    public static GetItemDto toGetItemDtoFromItem(Item item, Collection<Comment> itemComments) {
         SortedSet<GetCommentDto> comments = new TreeSet<>(orderByCreatedDesc);
-        if (item.getComments() != null) {
-            comments.addAll(item.getComments()
+        if (itemComments != null) {
+            comments.addAll(itemComments
                     .stream()
                     .map(CommentMapper::toGetCommentDtoFromComment)
                     .collect(Collectors.toSet()));
@@ -36,30 +39,13 @@ public class ItemMapper {
                 .build();
     }
 
-    public static GetItemDto toGetItemWIthBookingDtoFromItem(Item item) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        GetItemDto getItemDto = toGetItemDtoFromItem(item);
-        Set<Booking> bookings = item.getBookings();
-
-        if (bookings != null) {
-            Booking lastBooking = bookings
-                    .stream()
-                    .sorted(orderByStartDateDesc)
-                    .filter(t -> t.getStartDate().isBefore(currentTime) &&
-                            t.getStatus().equals(Status.APPROVED))
-                    .findFirst()
-                    .orElse(null);
-
-            Booking nextBooking = bookings
-                    .stream()
-                    .sorted(orderByStartDateAsc)
-                    .filter(t -> t.getStartDate().isAfter(currentTime) &&
-                            t.getStatus().equals(Status.APPROVED))
-                    .findFirst()
-                    .orElse(null);
-            getItemDto.setLastBooking(BookingMapper.toGetBookingForItemDtoFromBooking(lastBooking));
-            getItemDto.setNextBooking(BookingMapper.toGetBookingForItemDtoFromBooking(nextBooking));
-        }
+    public static GetItemDto toGetItemWIthBookingDtoFromItem(Item item,
+                                                             Booking lastBooking,
+                                                             Booking nextBooking,
+                                                             Collection<Comment> comments) {
+        GetItemDto getItemDto = toGetItemDtoFromItem(item, comments);
+        getItemDto.setLastBooking(BookingMapper.toGetBookingForItemDtoFromBooking(lastBooking));
+        getItemDto.setNextBooking(BookingMapper.toGetBookingForItemDtoFromBooking(nextBooking));
         return getItemDto;
     }
 
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.mappers;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.stream.Collectors;
 
 @UtilityClass
@@ -17,11 +19,15 @@ public class ItemRequestMapper {
     }
 
     public GetItemRequestDto toGetItemRequestDtoFromItemRequest(ItemRequest itemRequest) {
+        return toGetItemRequestDtoFromItemRequest(itemRequest, itemRequest.getItems());
+    }
+
+    public GetItemRequestDto toGetItemRequestDtoFromItemRequest(ItemRequest itemRequest, Collection<Item> items) {
         return GetItemRequestDto.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
-                .items(itemRequest.getItems() != null ? itemRequest.getItems()
+                .items(items != null ? items
                         .stream()
                         .map(ItemMapper::toGetItemForGetItemRequestDtoFromItem)
                         .collect(Collectors.toList())
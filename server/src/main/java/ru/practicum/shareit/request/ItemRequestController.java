@@ -1,16 +1,20 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.async.DeferredResult;
+import ru.practicum.shareit.exceptions.MethodArgumentException;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.utilities.RequestCursor;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 
@@ -20,6 +24,7 @@ import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 @Validated
 public class ItemRequestController {
     private final ItemRequestService itemRequestService;
+    private final ItemRequestFeed itemRequestFeed;
 
     @PostMapping
     public GetItemRequestDto createRequest(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
@@ -42,6 +47,39 @@ public class ItemRequestController {
         return itemRequestService.getAllRequests(userId, from, size);
     }
 
+    @GetMapping("/feed")
+    public DeferredResult<ResponseEntity<List<GetItemRequestDto>>> getRequestsFeed(
+            @RequestHeader(REQUEST_HEADER_USER_ID) long userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(20) int size,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(25) int wait) {
+        if (size < 1 || size > 20) {
+            throw new MethodArgumentException(String.format("Illegal size = %s", size));
+        }
+        if (wait < 0 || wait > 25) {
+            throw new MethodArgumentException(String.format("Illegal wait = %s", wait));
+        }
+        RequestCursor cursor = RequestCursor.decode(since);
+        List<GetItemRequestDto> requests = itemRequestService.getRequestsSince(userId, cursor, size);
+        if (!requests.isEmpty() || wait == 0) {
+            DeferredResult<ResponseEntity<List<GetItemRequestDto>>> result = new DeferredResult<>();
+            result.setResult(ItemRequestFeed.toResponse(requests, cursor));
+            return result;
+        }
+
+        DeferredResult<ResponseEntity<List<GetItemRequestDto>>> result =
+                itemRequestFeed.subscribe(userId, cursor, TimeUnit.SECONDS.toMillis(wait));
+        try {
+            requests = itemRequestService.getRequestsSince(userId, cursor, size);
+            if (!requests.isEmpty()) {
+                result.setResult(ItemRequestFeed.toResponse(requests, cursor));
+            }
+        } catch (RuntimeException e) {
+            result.setErrorResult(e);
+        }
+        return result;
+    }
+
     @GetMapping("/{requestId}")
     public GetItemRequestDto getRequestById(@RequestHeader(REQUEST_HEADER_USER_ID) long userId,
                                             @PathVariable long requestId) {
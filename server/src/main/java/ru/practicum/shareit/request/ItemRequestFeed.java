@@ -0,0 +1,64 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import ru.practicum.shareit.mappers.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.utilities.RequestCursor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.practicum.shareit.utilities.Constants.RESPONSE_HEADER_NEXT_CURSOR;
+import static ru.practicum.shareit.utilities.Transactions.afterCommit;
+
+@Component
+public class ItemRequestFeed {
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    public DeferredResult<ResponseEntity<List<GetItemRequestDto>>> subscribe(long userId, RequestCursor since,
+                                                                             long timeoutMillis) {
+        DeferredResult<ResponseEntity<List<GetItemRequestDto>>> result =
+                new DeferredResult<>(timeoutMillis, toResponse(List.of(), since));
+        Subscription subscription = new Subscription(userId, since, result);
+        subscriptions.add(subscription);
+        result.onCompletion(() -> subscriptions.remove(subscription));
+        return result;
+    }
+
+    public void publish(ItemRequest request) {
+        long requesterId = request.getRequester().getId();
+        afterCommit(() -> {
+            List<GetItemRequestDto> requests = List.of(
+                    ItemRequestMapper.toGetItemRequestDtoFromItemRequest(request, List.of()));
+            for (Subscription subscription : subscriptions) {
+                if (subscription.userId != requesterId
+                        && subscription.since.isNew(request.getCreated(), request.getId())) {
+                    subscription.result.setResult(toResponse(requests, subscription.since));
+                }
+            }
+        });
+    }
+
+    public int getSubscriptionsCount() {
+        return subscriptions.size();
+    }
+
+    public static ResponseEntity<List<GetItemRequestDto>> toResponse(List<GetItemRequestDto> requests,
+                                                                     RequestCursor since) {
+        return ResponseEntity.ok()
+                .header(RESPONSE_HEADER_NEXT_CURSOR, since.next(requests).encode())
+                .body(requests);
+    }
+
+    @RequiredArgsConstructor
+    private static class Subscription {
+        private final long userId;
+        private final RequestCursor since;
+        private final DeferredResult<ResponseEntity<List<GetItemRequestDto>>> result;
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.utilities.RequestCursor;
 
 import java.util.List;
 
@@ -13,5 +14,7 @@ public interface ItemRequestService {
 
     List<GetItemRequestDto> getAllRequests(long userId, int from, int size);
 
+    List<GetItemRequestDto> getRequestsSince(long userId, RequestCursor since, int size);
+
     GetItemRequestDto getRequestById(long userId, long requestId);
 }
\ No newline at end of file
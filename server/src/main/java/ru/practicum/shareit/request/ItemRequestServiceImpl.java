@@ -5,6 +5,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.mappers.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
@@ -12,11 +14,17 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.utilities.ChunkRequest;
+import ru.practicum.shareit.utilities.RequestCursor;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.utilities.Constants.SORT_BY_CREATED_AND_ID_ASC;
 import static ru.practicum.shareit.utilities.Constants.SORT_BY_CREATED_DESC;
 
 @Service
@@ -25,6 +33,8 @@ import static ru.practicum.shareit.utilities.Constants.SORT_BY_CREATED_DESC;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestStorage itemRequestStorage;
     private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private final ItemRequestFeed itemRequestFeed;
 
     @Override
     public GetItemRequestDto addRequest(long userId, AddItemRequestDto itemRequestDto) {
@@ -32,8 +42,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         ItemRequest request = ItemRequestMapper.toItemRequestFromAddItemRequestDto(itemRequestDto);
         request.setRequester(requester);
-        request.setCreated(LocalDateTime.now());
-        return ItemRequestMapper.toGetItemRequestDtoFromItemRequest(itemRequestStorage.save(request));
+        request.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        ItemRequest savedRequest = itemRequestStorage.save(request);
+        itemRequestFeed.publish(savedRequest);
+        return ItemRequestMapper.toGetItemRequestDtoFromItemRequest(savedRequest);
     }
 
     @Override
@@ -50,13 +62,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<GetItemRequestDto> getAllRequests(long userId, int from, int size) {
-        User requester = userStorage.findById(userId).orElseThrow(
+        userStorage.findById(userId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
         Pageable pageable = new ChunkRequest(from, size, SORT_BY_CREATED_DESC);
-        return itemRequestStorage.getAllByRequesterNot(requester, pageable)
+        return toGetItemRequestDtos(itemRequestStorage.findIdsByRequesterIdNot(userId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GetItemRequestDto> getRequestsSince(long userId, RequestCursor since, int size) {
+        userStorage.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("User with ID %s", userId)));
+        Pageable pageable = new ChunkRequest(0, size + since.getSeen().size(), SORT_BY_CREATED_AND_ID_ASC);
+        return toGetItemRequestDtos(itemRequestStorage.findIdsByRequesterIdNotCreatedFrom(userId,
+                        since.getWindowStart(), pageable)
                 .stream()
-                .map(ItemRequestMapper::toGetItemRequestDtoFromItemRequest)
-                .collect(Collectors.toList());
+                .filter(id -> !since.getSeen().containsKey(id))
+                .limit(size)
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -69,4 +92,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                         () -> new EntityNotFoundException(
                                 String.format("Request with ID %s", requestId))));
     }
+
+    private List<GetItemRequestDto> toGetItemRequestDtos(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ItemRequest> requests = itemRequestStorage.findAllByIdIn(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        Map<Long, List<Item>> items = itemStorage.findAllByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        return requestIds.stream()
+                .map(requests::get)
+                .map(request -> ItemRequestMapper.toGetItemRequestDtoFromItemRequest(request,
+                        items.getOrDefault(request.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
@@ -19,11 +20,18 @@ public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
            "WHERE u = :user")
     List<ItemRequest> getAllByRequester(@Param("user") User requester, Sort sort);
 
-    @Query(value = "SELECT r from ItemRequest r " +
-                   "JOIN FETCH r.requester u " +
-                   "LEFT JOIN FETCH r.items i " +
-                   "WHERE u != :user ",
-            countQuery = "SELECT r from ItemRequest r " +
-                    "WHERE r.requester != :user")
-    Page<ItemRequest> getAllByRequesterNot(@Param("user") User requester, Pageable pageable);
+    @Query("SELECT r.id FROM ItemRequest r " +
+           "WHERE r.requester.id <> :id")
+    List<Long> findIdsByRequesterIdNot(@Param("id") Long requesterId, Pageable pageable);
+
+    @Query("SELECT r.id FROM ItemRequest r " +
+           "WHERE r.requester.id <> :userId " +
+           "   AND r.created >= :created")
+    List<Long> findIdsByRequesterIdNotCreatedFrom(@Param("userId") Long requesterId,
+                                                  @Param("created") LocalDateTime created,
+                                                  Pageable pageable);
+
+    @Query("SELECT r FROM ItemRequest r " +
+           "WHERE r.id IN :ids")
+    List<ItemRequest> findAllByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
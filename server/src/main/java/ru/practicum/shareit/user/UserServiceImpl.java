@@ -3,13 +3,16 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import ru.practicum.shareit.booking.BookingCounters;
 import ru.practicum.shareit.exceptions.EntityAlreadyExistException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.mappers.UserMapper;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
@@ -20,6 +23,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.utilities.Constants.SORT_BY_ID_ASC;
+import static ru.practicum.shareit.utilities.ServerConstants.USERS_CACHE;
 
 @Service
 @Slf4j
@@ -27,6 +31,8 @@ import static ru.practicum.shareit.utilities.Constants.SORT_BY_ID_ASC;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserStorage userStorage;
+    private final BookingCounters bookingCounters;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Transactional(readOnly = true)
     @Override
@@ -57,10 +63,13 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     @Override
     public GetUserDto update(long id, AddOrUpdateUserDto createUpdateUserDto) {
         User user = userStorage.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with ID %s", id)));
+                () -> new EntityNotFoundException(String.format("User with ID %s", id)))
+                .toBuilder()
+                .build();
         if (StringUtils.isNotBlank(createUpdateUserDto.getName())) {
             user.setName(createUpdateUserDto.getName());
         }
@@ -78,10 +87,13 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     @Override
     public void deleteById(long id) {
         userStorage.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("User with ID %s", id)));
+        bookingCounters.userDeleted(id);
+        itemSearchEngine.removeUserItems(id);
         userStorage.deleteById(id);
     }
 }
\ No newline at end of file
@@ -1,7 +1,20 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Optional;
+
+import static ru.practicum.shareit.utilities.ServerConstants.USERS_CACHE;
+
 public interface UserStorage extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    @Override
+    default Optional<User> findById(Long id) {
+        return findUserById(id).map(user -> user.toBuilder().build());
+    }
+
+    Optional<User> findUserById(Long id);
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.utilities;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exceptions.MethodArgumentException;
+import ru.practicum.shareit.request.dto.GetItemRequestDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.utilities.ServerConstants.REQUEST_FEED_GRACE_PERIOD;
+
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class RequestCursor {
+    public static final RequestCursor FIRST = new RequestCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, Map.of());
+
+    private static final String SEPARATOR = "_";
+    private static final String SEEN_SEPARATOR = ",";
+    private static final String SEEN_CREATED_SEPARATOR = "@";
+
+    private final LocalDateTime created;
+    private final long id;
+    private final Map<Long, LocalDateTime> seen;
+
+    public static RequestCursor of(LocalDateTime created, long id) {
+        return new RequestCursor(created, id, Map.of());
+    }
+
+    public static RequestCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException();
+            }
+            Map<Long, LocalDateTime> seen = new TreeMap<>();
+            if (parts.length == 3) {
+                for (String entry : parts[2].split(SEEN_SEPARATOR)) {
+                    int separator = entry.indexOf(SEEN_CREATED_SEPARATOR);
+                    seen.put(Long.parseLong(entry.substring(0, separator)),
+                            LocalDateTime.parse(entry.substring(separator + 1)));
+                }
+            }
+            return new RequestCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]), seen);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new MethodArgumentException(String.format("Illegal cursor = %s", cursor));
+        }
+    }
+
+    public LocalDateTime getWindowStart() {
+        return created.minus(REQUEST_FEED_GRACE_PERIOD);
+    }
+
+    public boolean isNew(LocalDateTime created, long id) {
+        return !seen.containsKey(id) && !created.isBefore(getWindowStart());
+    }
+
+    public RequestCursor next(List<GetItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return this;
+        }
+        LocalDateTime nextCreated = created;
+        long nextId = id;
+        Map<Long, LocalDateTime> nextSeen = new TreeMap<>(seen);
+        for (GetItemRequestDto request : requests) {
+            nextSeen.put(request.getId(), request.getCreated());
+            if (nextCreated.isBefore(request.getCreated())
+                    || (nextCreated.isEqual(request.getCreated()) && nextId < request.getId())) {
+                nextCreated = request.getCreated();
+                nextId = request.getId();
+            }
+        }
+        LocalDateTime windowStart = nextCreated.minus(REQUEST_FEED_GRACE_PERIOD);
+        nextSeen.values().removeIf(seenCreated -> seenCreated.isBefore(windowStart));
+        return new RequestCursor(nextCreated, nextId, nextSeen);
+    }
+
+    public String encode() {
+        String encoded = created + SEPARATOR + id;
+        if (!seen.isEmpty()) {
+            encoded += SEPARATOR + seen.entrySet()
+                    .stream()
+                    .map(entry -> entry.getKey() + SEEN_CREATED_SEPARATOR + entry.getValue())
+                    .collect(Collectors.joining(SEEN_SEPARATOR));
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,31 +1,21 @@
 package ru.practicum.shareit.utilities;
 
 import lombok.experimental.UtilityClass;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.GetCommentDto;
 
+import java.time.Duration;
 import java.util.Comparator;
 
 @UtilityClass
 public class ServerConstants {
 
-    public static final Comparator<Booking> orderByStartDateDesc = (a, b) -> {
-        if (a.getStartDate().isAfter(b.getStartDate())) {
-            return -1;
-        } else if (a.getStartDate().isBefore(b.getStartDate())) {
-            return 1;
-        }
-        return 0;
-    };
+    public static final String USERS_CACHE = "users";
 
-    public static final Comparator<Booking> orderByStartDateAsc = (a, b) -> {
-        if (a.getStartDate().isAfter(b.getStartDate())) {
-            return 1;
-        } else if (a.getStartDate().isBefore(b.getStartDate())) {
-            return -1;
-        }
-        return 0;
-    };
+    public static final int ITEM_COMMENTS_PAGE_SIZE = 20;
+
+    public static final String BOOKING_EXPORT_FETCH_SIZE = "500";
+
+    public static final Duration REQUEST_FEED_GRACE_PERIOD = Duration.ofSeconds(5);
 
     public static final Comparator<GetCommentDto> orderByCreatedDesc = (a, b) -> {
         if (a.getCreated().isAfter(b.getCreated())) {
@@ -3,6 +3,8 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS request CASCADE;
+DROP SEQUENCE IF EXISTS item_id_seq;
+DROP SEQUENCE IF EXISTS booking_id_seq;
 
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -19,9 +21,14 @@ CREATE TABLE IF NOT EXISTS request (
     CONSTRAINT pk_request PRIMARY KEY (id), CONSTRAINT fk_request_requester
     FOREIGN KEY (requester_id) REFERENCES users ON DELETE CASCADE ON UPDATE CASCADE);
 
+CREATE INDEX IF NOT EXISTS ix_request_requester_created ON request (requester_id, created);
+CREATE INDEX IF NOT EXISTS ix_request_created ON request (created, id);
+
+
+CREATE SEQUENCE IF NOT EXISTS item_id_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS items(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     name varchar(255) NOT NULL,
     description varchar(512) NOT NULL,
     is_available BOOLEAN NOT NULL,
@@ -31,19 +38,34 @@ CREATE TABLE IF NOT EXISTS items(
     CONSTRAINT fk_item_request
     FOREIGN KEY (request_id) REFERENCES request ON DELETE CASCADE ON UPDATE CASCADE);
 
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+
+CREATE SEQUENCE IF NOT EXISTS booking_id_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS bookings(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
+    item_owner_id BIGINT NOT NULL,
     status varchar(10) NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (id), CONSTRAINT fk_booking_item
     FOREIGN KEY (item_id) REFERENCES items ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT fk_booking_item_owner
+    FOREIGN KEY (item_owner_id) REFERENCES users ON DELETE CASCADE ON UPDATE CASCADE,
     CONSTRAINT fk_booking_booker
     FOREIGN KEY (booker_id) REFERENCES users ON DELETE CASCADE ON UPDATE CASCADE);
 
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_status ON bookings (booker_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date, id);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_start ON bookings (item_owner_id, start_date, id);
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_status ON bookings (item_owner_id, status, start_date);
+
 
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -54,4 +76,6 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comment PRIMARY KEY (id), CONSTRAINT fk_comment_item
     FOREIGN KEY (item_id) REFERENCES items ON DELETE CASCADE ON UPDATE CASCADE,
     CONSTRAINT fk_comment_author
-    FOREIGN KEY (author_id) REFERENCES users ON DELETE CASCADE ON UPDATE CASCADE);
\ No newline at end of file
+    FOREIGN KEY (author_id) REFERENCES users ON DELETE CASCADE ON UPDATE CASCADE);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created);
\ No newline at end of file
@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SchemaIndexTest {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookerBookingsUseIndex() {
+        assertThat(explain("SELECT b.id FROM bookings b " +
+                "WHERE b.booker_id = 1 AND b.end_date < CURRENT_TIMESTAMP " +
+                "ORDER BY b.start_date DESC LIMIT 20"))
+                .doesNotContain("tableScan");
+        assertThat(explain("SELECT b.id FROM bookings b " +
+                "WHERE b.booker_id = 1 AND b.status = 'WAITING' " +
+                "ORDER BY b.start_date DESC LIMIT 20"))
+                .contains("IX_BOOKINGS_BOOKER_STATUS");
+    }
+
+    @Test
+    void ownerBookingsUseIndex() {
+        assertThat(explain("SELECT b.id FROM bookings b " +
+                "WHERE b.item_owner_id = 1 AND b.start_date > CURRENT_TIMESTAMP " +
+                "ORDER BY b.start_date DESC LIMIT 20"))
+                .doesNotContain("tableScan")
+                .doesNotContain("ITEMS");
+        assertThat(explain("SELECT b.id FROM bookings b " +
+                "WHERE b.item_owner_id = 1 AND b.status = 'WAITING' " +
+                "ORDER BY b.start_date DESC LIMIT 20"))
+                .contains("IX_BOOKINGS_OWNER_STATUS");
+    }
+
+    @Test
+    void bookingOverlapCheckUsesIndex() {
+        assertThat(explain("SELECT b.id FROM bookings b " +
+                "WHERE b.item_id = 1 AND b.start_date < CURRENT_TIMESTAMP AND b.end_date > CURRENT_TIMESTAMP"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void lastAndNextBookingsUseIndex() {
+        assertThat(explain("SELECT max(b.start_date) FROM bookings b " +
+                "WHERE b.item_id = 1 AND b.status = 'APPROVED' AND b.start_date < CURRENT_TIMESTAMP"))
+                .contains("IX_BOOKINGS_ITEM_STATUS_START");
+    }
+
+    @Test
+    void itemCommentsUseIndex() {
+        assertThat(explain("SELECT c.id FROM comments c " +
+                "WHERE c.item_id = 1 ORDER BY c.created DESC LIMIT 20"))
+                .contains("IX_COMMENTS_ITEM_CREATED");
+    }
+
+    @Test
+    void requesterRequestsUseIndex() {
+        assertThat(explain("SELECT r.id FROM request r " +
+                "WHERE r.requester_id = 1 ORDER BY r.created DESC LIMIT 20"))
+                .contains("IX_REQUEST_REQUESTER_CREATED");
+    }
+
+    @Test
+    void requestItemsUseIndex() {
+        assertThat(explain("SELECT i.id FROM items i WHERE i.request_id IN (1, 2, 3)"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void ownerItemsUseIndex() {
+        assertThat(explain("SELECT i.id FROM items i WHERE i.owner_id = 1 ORDER BY i.id LIMIT 20"))
+                .doesNotContain("tableScan");
+        assertThat(explain("SELECT i.id FROM items i WHERE i.request_id = 1"))
+                .doesNotContain("tableScan");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
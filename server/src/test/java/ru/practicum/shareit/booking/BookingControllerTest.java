@@ -9,12 +9,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.model.Status;
 import ru.practicum.shareit.item.dto.GetBookingForItemDto;
 import ru.practicum.shareit.user.dto.GetUserForGetBookingDto;
+import ru.practicum.shareit.utilities.BookingCursor;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -25,11 +30,16 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static ru.practicum.shareit.utilities.Constants.DATE_TIME_FORMATTER;
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
+import static ru.practicum.shareit.utilities.Constants.RESPONSE_HEADER_NEXT_CURSOR;
+import static ru.practicum.shareit.utilities.Constants.RESPONSE_HEADER_TOTAL_COUNT;
 
 @WebMvcTest(controllers = BookingController.class)
 class BookingControllerTest {
@@ -43,6 +53,12 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingExporter bookingExporter;
+
+    @MockBean
+    private BookingEventHub bookingEventHub;
+
     private static GetUserForGetBookingDto booker;
     private static AddBookingDto createBookingDto;
     private static GetBookingDto getBookingDto;
@@ -148,6 +164,101 @@ class BookingControllerTest {
         verify(bookingService, times(1)).approveBooking(anyLong(), anyLong(), anyBoolean());
     }
 
+    @Test
+    @SneakyThrows
+    void testCreateAllBookings() {
+        when(bookingService.createAll(anyLong(), anyList()))
+                .thenReturn(List.of(
+                        BookingBatchResultDto.builder().index(0).status(200).booking(getBookingDto).build(),
+                        BookingBatchResultDto.builder().index(1).status(400)
+                                .error("Item is already booked for these dates").build()));
+
+        String jsonBookings = objectMapper.writeValueAsString(List.of(createBookingDto, createBookingDto));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL_VALUE)
+                        .content(jsonBookings))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].booking.id").value(getBookingDto.getId()))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error").value("Item is already booked for these dates"));
+        verify(bookingService, times(1)).createAll(eq(booker.getId()), eq(List.of(createBookingDto, createBookingDto)));
+    }
+
+    @Test
+    @SneakyThrows
+    void testApproveAllBookings() {
+        when(bookingService.approveAll(anyLong(), anyList(), anyBoolean()))
+                .thenReturn(List.of(BookingBatchResultDto.builder().index(0).status(200)
+                        .booking(getBookingDto.toBuilder().status(Status.APPROVED).build()).build()));
+
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL_VALUE)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.status").value(Status.APPROVED.toString()));
+        verify(bookingService, times(1)).approveAll(booker.getId(), List.of(1L), true);
+        verify(bookingService, never()).approveBooking(anyLong(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    @SneakyThrows
+    void testExportUserBookings() {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write((objectMapper.writeValueAsString(getBookingDto) + "\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingExporter).exportUserBookings(anyLong(), any(OutputStream.class));
+
+        mockMvc.perform(get("/bookings/export")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(getBookingDto) + "\n"));
+        verify(bookingExporter, times(1)).exportUserBookings(eq(booker.getId()), any(OutputStream.class));
+        verify(bookingExporter, never()).exportOwnerBookings(anyLong(), any(OutputStream.class));
+        verify(bookingService, never()).getUserBookings(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetBookingsSummary() {
+        BookingSummaryDto summary = BookingSummaryDto.builder().all(3).future(2).past(1).waiting(1).build();
+        when(bookingService.getOwnerBookingsSummary(anyLong()))
+                .thenReturn(summary);
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(summary)))
+                .andExpect(jsonPath("$.future").value(2));
+        verify(bookingService, times(1)).getOwnerBookingsSummary(booker.getId());
+        verify(bookingService, never()).getUserBookingsSummary(anyLong());
+        verify(bookingService, never()).countOwnerBookings(anyLong(), anyString());
+    }
+
+    @Test
+    @SneakyThrows
+    void testSubscribeToEvents() {
+        when(bookingEventHub.subscribe(anyLong()))
+                .thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/bookings/events")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId()))
+                .andExpect(request().asyncStarted());
+        verify(bookingEventHub, times(1)).subscribe(booker.getId());
+        verify(bookingService, never()).getBookingByUserOwner(anyLong(), anyLong());
+    }
+
     @Test
     @SneakyThrows
     void testRejectBooking() {
@@ -255,4 +366,68 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[19].id").value(21L));
         verify(bookingService, times(1)).getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt());
     }
+
+    @Test
+    @SneakyThrows
+    void testGetBookingWithGetOwnerBookingsIncludeTotal() {
+        when(bookingService.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(listWith20Bookings.subList(0, 3));
+        when(bookingService.countOwnerBookings(anyLong(), anyString()))
+                .thenReturn(3L);
+
+        mockMvc.perform(get("/bookings/owner?includeTotal=true")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RESPONSE_HEADER_TOTAL_COUNT, "3"))
+                .andExpect(jsonPath("$.size()").value(3));
+        verify(bookingService, times(1)).countOwnerBookings(booker.getId(), "all");
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetBookingWithGetUserBookingsWithoutTotal() {
+        when(bookingService.getUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(listWith20Bookings.subList(0, 3));
+
+        mockMvc.perform(get("/bookings")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(RESPONSE_HEADER_TOTAL_COUNT));
+        verify(bookingService, never()).countUserBookings(anyLong(), anyString());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetBookingWithGetUserBookingsAfterCursor() {
+        GetBookingDto last = listWith20Bookings.get(19);
+        when(bookingService.getUserBookingsAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(listWith20Bookings);
+
+        mockMvc.perform(get("/bookings?cursor=")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RESPONSE_HEADER_NEXT_CURSOR,
+                        BookingCursor.of(last.getStart(), last.getId()).encode()))
+                .andExpect(jsonPath("$.size()").value(20));
+        verify(bookingService, times(1)).getUserBookingsAfter(booker.getId(), "all", "", 20);
+        verify(bookingService, never()).getUserBookings(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void testGetBookingWithGetOwnerBookingsLastPageWithoutCursor() {
+        when(bookingService.getOwnerBookingsAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(listWith20Bookings.subList(0, 3));
+
+        mockMvc.perform(get("/bookings/owner?cursor=abc&size=5")
+                        .header(REQUEST_HEADER_USER_ID, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(RESPONSE_HEADER_NEXT_CURSOR))
+                .andExpect(jsonPath("$.size()").value(3));
+        verify(bookingService, times(1)).getOwnerBookingsAfter(booker.getId(), "all", "abc", 5);
+    }
 }
\ No newline at end of file
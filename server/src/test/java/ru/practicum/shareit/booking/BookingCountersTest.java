@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingTimeline;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.model.Status;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class BookingCountersTest {
+    private BookingStorage bookingStorage;
+    private BookingCounters bookingCounters;
+
+    @BeforeEach
+    void setUp() {
+        bookingStorage = Mockito.mock(BookingStorage.class);
+        bookingCounters = new BookingCounters(bookingStorage, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingCounters.shutdown();
+    }
+
+    @Test
+    void rebuildFromStorage() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingStorage.findAllTimelinesByIdGreaterThan(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new BookingTimeline(1L, 2L, 1L, Status.APPROVED, now.minusDays(2), now.minusDays(1)),
+                        new BookingTimeline(2L, 2L, 1L, Status.WAITING, now.minusHours(1), now.plusHours(1)),
+                        new BookingTimeline(3L, 3L, 1L, Status.REJECTED, now.plusDays(1), now.plusDays(2))));
+
+        bookingCounters.init();
+
+        assertThat(bookingCounters.getOwnerSummary(1L))
+                .isEqualTo(BookingSummaryDto.builder()
+                        .all(3).past(1).current(1).future(1).waiting(1).rejected(1)
+                        .build());
+        assertThat(bookingCounters.getBookerSummary(2L))
+                .isEqualTo(BookingSummaryDto.builder()
+                        .all(2).past(1).current(1).waiting(1)
+                        .build());
+        assertThat(bookingCounters.getBookerSummary(1L))
+                .isEqualTo(BookingSummaryDto.builder().build());
+    }
+
+    @Test
+    void countCreatedAndChangedBookings() {
+        Booking booking = booking(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        bookingCounters.created(List.of(booking));
+        booking.setStatus(Status.REJECTED);
+        bookingCounters.statusChanged(booking, Status.WAITING);
+
+        assertThat(bookingCounters.getOwnerSummary(1L))
+                .isEqualTo(BookingSummaryDto.builder().all(1).future(1).rejected(1).build());
+        assertThat(bookingCounters.getBookerSummary(2L))
+                .isEqualTo(BookingSummaryDto.builder().all(1).future(1).rejected(1).build());
+    }
+
+    @Test
+    @SneakyThrows
+    void rolloverFutureToCurrentAndPast() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingCounters.created(List.of(
+                booking(1L, now.plusNanos(100_000_000), now.plusDays(1)),
+                booking(2L, now.plusNanos(100_000_000), now.plusNanos(200_000_000))));
+        assertThat(bookingCounters.getOwnerSummary(1L))
+                .isEqualTo(BookingSummaryDto.builder().all(2).future(2).waiting(2).build());
+
+        Thread.sleep(300);
+        bookingCounters.rollover();
+
+        assertThat(bookingCounters.getOwnerSummary(1L))
+                .isEqualTo(BookingSummaryDto.builder().all(2).current(1).past(1).waiting(2).build());
+    }
+
+    @Test
+    void subtractDeletedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = booking(1L, now.plusDays(1), now.plusDays(2));
+        bookingCounters.created(List.of(booking, booking(2L, now.minusDays(2), now.minusDays(1))));
+        when(bookingStorage.findAllTimelinesByItemId(anyLong()))
+                .thenReturn(List.of(new BookingTimeline(1L, 2L, 1L, Status.WAITING,
+                        booking.getStartDate(), booking.getEndDate())));
+
+        bookingCounters.itemDeleted(1L);
+
+        assertThat(bookingCounters.getOwnerSummary(1L))
+                .isEqualTo(BookingSummaryDto.builder().all(1).past(1).waiting(1).build());
+    }
+
+    private static Booking booking(long id, LocalDateTime start, LocalDateTime end) {
+        User owner = User.builder().id(1L).name("owner").email("owner@ya.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@ya.ru").build();
+        return Booking.builder()
+                .id(id)
+                .startDate(start)
+                .endDate(end)
+                .status(Status.WAITING)
+                .booker(booker)
+                .item(Item.builder().id(1L).name("item").description("item").available(true).owner(owner).build())
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exceptions.ServiceUnavailableException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.model.Status;
+import ru.practicum.shareit.user.UserStorage;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
+
+class BookingEventHubTest {
+    private UserStorage userStorage;
+    private BookingEventHub bookingEventHub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userStorage = Mockito.mock(UserStorage.class);
+        when(userStorage.existsById(anyLong()))
+                .thenReturn(true);
+        bookingEventHub = new BookingEventHub(userStorage, 3, 2, 8,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(Mockito.mock(BookingService.class),
+                        Mockito.mock(BookingExporter.class), bookingEventHub))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingEventHub.shutdown();
+    }
+
+    @Test
+    @SneakyThrows
+    void publishToBookerAndOwner() {
+        MockHttpServletResponse bookerEvents = subscribe(2L);
+        MockHttpServletResponse ownerEvents = subscribe(1L);
+        MockHttpServletResponse otherEvents = subscribe(3L);
+
+        bookingEventHub.publish(booking(Status.APPROVED));
+
+        awaitContent(bookerEvents);
+        awaitContent(ownerEvents);
+        assertThat(bookerEvents.getContentAsString())
+                .contains("id:7\n")
+                .contains("event:approved\n")
+                .contains("\"status\":\"APPROVED\"");
+        assertThat(ownerEvents.getContentAsString())
+                .contains("event:approved\n");
+        assertThat(otherEvents.getContentAsString())
+                .isEmpty();
+    }
+
+    @Test
+    @SneakyThrows
+    void publishToOwnerWhileBookerIsStalled() {
+        SseEmitter stalledBookerEvents = bookingEventHub.subscribe(2L);
+        MockHttpServletResponse ownerEvents = subscribe(1L);
+
+        synchronized (stalledBookerEvents) {
+            bookingEventHub.publish(booking(Status.APPROVED));
+
+            awaitContent(ownerEvents);
+            assertThat(ownerEvents.getContentAsString())
+                    .contains("event:approved\n");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void evictOldestSubscriptionOfUser() {
+        subscribe(1L);
+        subscribe(1L);
+        subscribe(1L);
+
+        assertEquals(2, bookingEventHub.getSubscribersCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void getExceptionWithTooManySubscribers() {
+        subscribe(1L);
+        subscribe(2L);
+        subscribe(3L);
+
+        final ServiceUnavailableException exception = Assertions.assertThrows(
+                ServiceUnavailableException.class,
+                () -> bookingEventHub.subscribe(4L));
+
+        assertEquals("Too many booking event subscribers", exception.getMessage());
+        assertEquals(3, bookingEventHub.getSubscribersCount());
+    }
+
+    @Test
+    void getExceptionWithNotFoundUser() {
+        when(userStorage.existsById(anyLong()))
+                .thenReturn(false);
+
+        final EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> bookingEventHub.subscribe(5L));
+
+        assertEquals("User with ID 5", exception.getMessage());
+        assertEquals(0, bookingEventHub.getSubscribersCount());
+    }
+
+    @SneakyThrows
+    private MockHttpServletResponse subscribe(long userId) {
+        return mockMvc.perform(get("/bookings/events")
+                        .header(REQUEST_HEADER_USER_ID, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    @SneakyThrows
+    private static void awaitContent(MockHttpServletResponse response) {
+        for (int i = 0; i < 50 && response.getContentAsString().isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static Booking booking(Status status) {
+        User owner = User.builder().id(1L).name("owner").email("owner@ya.ru").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@ya.ru").build();
+        return Booking.builder()
+                .id(7L)
+                .startDate(LocalDateTime.now().plusDays(1))
+                .endDate(LocalDateTime.now().plusDays(2))
+                .status(status)
+                .booker(booker)
+                .item(Item.builder().id(1L).name("item").description("item").available(true).owner(owner).build())
+                .build();
+    }
+}
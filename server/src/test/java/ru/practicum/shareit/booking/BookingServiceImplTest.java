@@ -9,10 +9,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.exceptions.ActionNotAvailableException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.exceptions.MethodArgumentException;
 import ru.practicum.shareit.exceptions.NotValidDateException;
 import ru.practicum.shareit.item.ItemStorage;
 import ru.practicum.shareit.item.dto.GetBookingForItemDto;
@@ -21,6 +24,7 @@ import ru.practicum.shareit.model.Status;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.dto.GetUserForGetBookingDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utilities.BookingCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -30,7 +34,9 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class BookingServiceImplTest {
@@ -38,6 +44,8 @@ class BookingServiceImplTest {
     private static BookingStorage bookingStorage;
     private static ItemStorage itemStorage;
     private static UserStorage userStorage;
+    private static BookingEventHub bookingEventHub;
+    private static BookingCounters bookingCounters;
     private static User user;
     private static Item item;
     private static AddBookingDto bookingDto;
@@ -47,6 +55,7 @@ class BookingServiceImplTest {
     private static Booking booking;
     private static GetBookingForItemDto itemDto;
     private static Page<Booking> listOfBookings;
+    private static Page<BookingView> listOfBookingViews;
 
     @BeforeAll
     static void beforeAll() {
@@ -103,6 +112,12 @@ class BookingServiceImplTest {
             listOfB.add(booking.toBuilder().id(i + 1L).build());
         }
         listOfBookings = new PageImpl<>(listOfB);
+
+        List<BookingView> listOfV = new ArrayList<>();
+        for (int i = 1; i < 21; i++) {
+            listOfV.add(new BookingView(i + 1L, startTime, endTime, Status.WAITING, 2L, 1L, "itemName"));
+        }
+        listOfBookingViews = new PageImpl<>(listOfV);
     }
 
     @BeforeEach
@@ -110,14 +125,17 @@ class BookingServiceImplTest {
         bookingStorage = Mockito.mock(BookingStorage.class);
         itemStorage = Mockito.mock(ItemStorage.class);
         userStorage = Mockito.mock(UserStorage.class);
-        bookingService = new BookingServiceImpl(bookingStorage, userStorage, itemStorage);
+        bookingEventHub = Mockito.mock(BookingEventHub.class);
+        bookingCounters = Mockito.mock(BookingCounters.class);
+        bookingService = new BookingServiceImpl(bookingStorage, userStorage, itemStorage, bookingEventHub,
+                bookingCounters);
     }
 
     @Test
     void createBookingTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -131,15 +149,17 @@ class BookingServiceImplTest {
                 .hasFieldOrPropertyWithValue("status", Status.WAITING)
                 .hasFieldOrPropertyWithValue("item", itemDto);
         verify(userStorage, times(1)).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findByIdForUpdate(anyLong());
         verify(bookingStorage, times(1)).save(any(Booking.class));
+        verify(bookingEventHub, times(1)).publish(booking);
+        verify(bookingCounters, times(1)).created(List.of(booking));
     }
 
     @Test
     void getExceptionCreateBookingNotFoundUserTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -151,7 +171,7 @@ class BookingServiceImplTest {
         assertEquals("User with ID 2",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(itemStorage, never()).findById(anyLong());
+        verify(itemStorage, never()).findByIdForUpdate(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
     }
 
@@ -159,7 +179,7 @@ class BookingServiceImplTest {
     void getExceptionCreateBookingNotFoundItemTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.empty());
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -171,7 +191,7 @@ class BookingServiceImplTest {
         assertEquals("Item with ID 1",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findByIdForUpdate(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
     }
 
@@ -179,7 +199,7 @@ class BookingServiceImplTest {
     void getExceptionCreateBookingNotValidDateExceptionTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -191,7 +211,7 @@ class BookingServiceImplTest {
         assertEquals("End date can't be before or equal start date",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(itemStorage, never()).findById(anyLong());
+        verify(itemStorage, never()).findByIdForUpdate(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
     }
 
@@ -199,7 +219,7 @@ class BookingServiceImplTest {
     void getExceptionCreateBookingNotAvailableExceptionTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(item.toBuilder().available(false).build()));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -211,7 +231,7 @@ class BookingServiceImplTest {
         assertEquals("Item is not available for booking",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findByIdForUpdate(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
     }
 
@@ -219,7 +239,7 @@ class BookingServiceImplTest {
     void getExceptionCreateBookingNotFoundSelfItemTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(itemStorage.findById(anyLong()))
+        when(itemStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -231,7 +251,28 @@ class BookingServiceImplTest {
         assertEquals("You can't book your own item",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(itemStorage, times(1)).findById(anyLong());
+        verify(itemStorage, times(1)).findByIdForUpdate(anyLong());
+        verify(bookingStorage, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void getExceptionCreateBookingOverlappingTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(itemStorage.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingStorage.existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(anyLong(), anyList(),
+                any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        final ActionNotAvailableException exception = Assertions.assertThrows(
+                ActionNotAvailableException.class,
+                () -> bookingService.create(2L, bookingDto));
+
+        assertEquals("Item is already booked for these dates",
+                exception.getMessage());
+        verify(bookingStorage, times(1)).existsByItemIdAndStatusInAndStartDateBeforeAndEndDateAfter(eq(1L),
+                eq(List.of(Status.WAITING, Status.APPROVED)), eq(endTime), eq(startTime));
         verify(bookingStorage, never()).save(any(Booking.class));
     }
 
@@ -239,7 +280,7 @@ class BookingServiceImplTest {
     void approveBookingTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findById(anyLong()))
+        when(bookingStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking.toBuilder().status(Status.APPROVED).build());
@@ -254,14 +295,16 @@ class BookingServiceImplTest {
                 .hasFieldOrPropertyWithValue("item", itemDto);
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, times(1)).save(any(Booking.class));
-        verify(bookingStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findByIdForUpdate(anyLong());
+        verify(bookingEventHub, times(1)).publish(any(Booking.class));
+        verify(bookingCounters, times(1)).statusChanged(any(Booking.class), eq(Status.WAITING));
     }
 
     @Test
     void rejectBookingTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findById(anyLong()))
+        when(bookingStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking.toBuilder().status(Status.REJECTED).build());
@@ -276,14 +319,14 @@ class BookingServiceImplTest {
                 .hasFieldOrPropertyWithValue("item", itemDto);
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, times(1)).save(any(Booking.class));
-        verify(bookingStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
     void getExceptionWithApproveBookingNoFoundUserTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(bookingStorage.findById(anyLong()))
+        when(bookingStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -303,7 +346,7 @@ class BookingServiceImplTest {
     void getExceptionWithApproveBookingNoFoundBookingTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findById(anyLong()))
+        when(bookingStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.empty());
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -316,14 +359,14 @@ class BookingServiceImplTest {
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
-        verify(bookingStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
     void getExceptionWithApproveBookingNoFoundOwnerTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findById(anyLong()))
+        when(bookingStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().build()));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -336,14 +379,14 @@ class BookingServiceImplTest {
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
-        verify(bookingStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findByIdForUpdate(anyLong());
     }
 
     @Test
     void getExceptionWithApproveBookingNotAvailableAlreadyApprovedTest() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
-        when(bookingStorage.findById(anyLong()))
+        when(bookingStorage.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(booking.toBuilder().status(Status.APPROVED).build()));
         when(bookingStorage.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -356,7 +399,112 @@ class BookingServiceImplTest {
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, never()).save(any(Booking.class));
-        verify(bookingStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    void exportUserBookingsTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.streamAllByBookerId(anyLong()))
+                .thenReturn(listOfBookingViews.getContent().stream());
+
+        List<GetBookingDto> bookings = new ArrayList<>();
+        bookingService.exportUserBookings(1L, bookings::add);
+
+        assertThat(bookings)
+                .hasSize(20)
+                .first()
+                .hasFieldOrPropertyWithValue("id", 2L)
+                .hasFieldOrPropertyWithValue("item", itemDto);
+        verify(bookingStorage, times(1)).streamAllByBookerId(1L);
+        verify(bookingStorage, never()).streamAllByItemOwnerId(anyLong());
+    }
+
+    @Test
+    void getExceptionWithExportOwnerBookingsNotFoundUserTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        final EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> bookingService.exportOwnerBookings(1L, booking -> { }));
+
+        assertEquals("User with ID 1",
+                exception.getMessage());
+        verify(bookingStorage, never()).streamAllByItemOwnerId(anyLong());
+    }
+
+    @Test
+    void createAllBookingsTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(itemStorage.findAllByIdInForUpdate(anyCollection()))
+                .thenReturn(List.of(item));
+        when(bookingStorage.findAllByItemIdInAndStatusInAndStartDateBeforeAndEndDateAfter(anyCollection(),
+                anyCollection(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        List<BookingBatchResultDto> results = bookingService.createAll(2L, List.of(
+                bookingDto,
+                bookingDto,
+                bookingDto.toBuilder().itemId(5L).build(),
+                bookingDto.toBuilder().end(startTime).build()));
+
+        assertThat(results)
+                .hasSize(4)
+                .extracting(BookingBatchResultDto::getStatus)
+                .containsExactly(200, 400, 404, 400);
+        assertThat(results.get(0).getBooking())
+                .hasFieldOrPropertyWithValue("start", startTime)
+                .hasFieldOrPropertyWithValue("status", Status.WAITING)
+                .hasFieldOrPropertyWithValue("item", itemDto);
+        assertEquals("Item is already booked for these dates", results.get(1).getError());
+        assertEquals("Item with ID 5", results.get(2).getError());
+        assertEquals("End date can't be before or equal start date", results.get(3).getError());
+        verify(itemStorage, times(1)).findAllByIdInForUpdate(anyCollection());
+        verify(bookingStorage, times(1)).saveAll(anyCollection());
+        verify(bookingStorage, never()).save(any(Booking.class));
+        verify(bookingEventHub, times(1)).publish(anyCollection());
+    }
+
+    @Test
+    void getExceptionCreateAllBookingsNotFoundUserTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        final EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> bookingService.createAll(2L, List.of(bookingDto)));
+
+        assertEquals("User with ID 2",
+                exception.getMessage());
+        verify(itemStorage, never()).findAllByIdInForUpdate(anyCollection());
+        verify(bookingStorage, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void approveAllBookingsTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.findAllByIdInForUpdate(anyCollection()))
+                .thenReturn(List.of(booking.toBuilder().build(),
+                        booking.toBuilder().id(2L).status(Status.APPROVED).build()));
+
+        List<BookingBatchResultDto> results = bookingService.approveAll(1L, List.of(1L, 2L, 3L), true);
+
+        assertThat(results)
+                .hasSize(3)
+                .extracting(BookingBatchResultDto::getStatus)
+                .containsExactly(200, 400, 404);
+        assertThat(results.get(0).getBooking())
+                .hasFieldOrPropertyWithValue("id", 1L)
+                .hasFieldOrPropertyWithValue("status", Status.APPROVED);
+        assertEquals("Booking already confirmed", results.get(1).getError());
+        assertEquals("Booking with ID 3", results.get(2).getError());
+        verify(bookingStorage, times(1)).findAllByIdInForUpdate(List.of(1L, 2L, 3L));
+        verify(bookingStorage, times(1)).saveAll(anyCollection());
+        verify(bookingEventHub, times(1)).publish(anyCollection());
     }
 
     @Test
@@ -453,14 +601,17 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByBooker(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "aLl", 1, 5);
 
         assertThat(bookings)
                 .isNotEmpty()
                 .hasSize(20)
-                .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
+                .satisfies(list -> assertThat(list.get(0))
+                        .hasFieldOrPropertyWithValue("id", 2L)
+                        .hasFieldOrPropertyWithValue("booker", booker)
+                        .hasFieldOrPropertyWithValue("item", itemDto));
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, times(1)).findAllByBooker(any(User.class), any(Pageable.class));
     }
@@ -470,7 +621,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
         when(bookingStorage.findAllByBooker(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         final EntityNotFoundException exception = Assertions.assertThrows(
                 EntityNotFoundException.class,
@@ -487,7 +638,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByBookerAndCurrent(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "cuRRenT", 1, 5);
 
@@ -504,7 +655,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByBookerAndPast(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "pAST", 1, 5);
 
@@ -521,7 +672,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByBookerAndFuture(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "FUTURE", 1, 5);
 
@@ -538,7 +689,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByBookerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "WAITING", 1, 5);
 
@@ -555,7 +706,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByBookerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "rejected", 1, 5);
 
@@ -572,7 +723,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByItemOwner(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfBookings.getContent());
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "aLl", 1, 5);
 
@@ -589,7 +740,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
         when(bookingStorage.findAllByBooker(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         final EntityNotFoundException exception = Assertions.assertThrows(
                 EntityNotFoundException.class,
@@ -606,7 +757,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByItemOwnerAndCurrent(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "cuRRenT", 1, 5);
 
@@ -623,7 +774,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByItemOwnerAndPast(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "pAST", 1, 5);
 
@@ -640,7 +791,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByItemOwnerAndFuture(any(User.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "FUTURE", 1, 5);
 
@@ -657,7 +808,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "WAITING", 1, 5);
 
@@ -674,7 +825,7 @@ class BookingServiceImplTest {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
         when(bookingStorage.findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class)))
-                .thenReturn(listOfBookings);
+                .thenReturn(listOfBookingViews);
 
         List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "rejected", 1, 5);
 
@@ -685,4 +836,105 @@ class BookingServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(bookingStorage, times(1)).findAllByItemOwnerAndStatus(any(User.class), any(Status.class), any(Pageable.class));
     }
+
+    @Test
+    void countUserBookingsWithPastTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.countByBookerIdAndEndDateBefore(anyLong(), any(LocalDateTime.class)))
+                .thenReturn(7L);
+
+        assertEquals(7L, bookingService.countUserBookings(1L, "pAst"));
+        verify(bookingStorage, times(1)).countByBookerIdAndEndDateBefore(eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void countOwnerBookingsWithWaitingTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.countByItemOwnerIdAndStatus(anyLong(), any(Status.class)))
+                .thenReturn(3L);
+
+        assertEquals(3L, bookingService.countOwnerBookings(1L, "waiting"));
+        verify(bookingStorage, times(1)).countByItemOwnerIdAndStatus(1L, Status.WAITING);
+    }
+
+    @Test
+    void getExceptionWithCountUserBookingsNotFoundUserTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        final EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> bookingService.countUserBookings(1L, "all"));
+
+        assertEquals("User with ID 1",
+                exception.getMessage());
+        verify(bookingStorage, never()).countByBookerId(anyLong());
+    }
+
+    @Test
+    void getExceptionWithCountOwnerBookingsNotFoundUserTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        final EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> bookingService.countOwnerBookings(1L, "all"));
+
+        assertEquals("User with ID 1",
+                exception.getMessage());
+        verify(bookingStorage, never()).countByItemOwnerId(anyLong());
+    }
+
+    @Test
+    void getUserBookingsAfterWithAllTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.findAllByBookerAfter(any(User.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(listOfBookingViews.getContent());
+
+        List<GetBookingDto> bookings = bookingService.getUserBookingsAfter(1L, "aLl", "", 5);
+
+        assertThat(bookings)
+                .isNotEmpty()
+                .hasSize(20)
+                .satisfies(list -> assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L));
+        verify(userStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findAllByBookerAfter(eq(user), eq(BookingCursor.FIRST.getStartDate()),
+                eq(BookingCursor.FIRST.getId()), any(Pageable.class));
+    }
+
+    @Test
+    void getOwnerBookingsAfterWithPastTest() {
+        BookingCursor cursor = BookingCursor.of(startTime, 7L);
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+        when(bookingStorage.findAllByItemOwnerAndPastAfter(any(User.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(listOfBookingViews.getContent());
+
+        List<GetBookingDto> bookings = bookingService.getOwnerBookingsAfter(1L, "past", cursor.encode(), 5);
+
+        assertThat(bookings)
+                .isNotEmpty()
+                .hasSize(20);
+        verify(bookingStorage, times(1)).findAllByItemOwnerAndPastAfter(any(User.class), any(LocalDateTime.class),
+                eq(startTime), eq(7L), any(Pageable.class));
+    }
+
+    @Test
+    void getExceptionWithGetUserBookingsAfterWithIllegalCursorTest() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user));
+
+        final MethodArgumentException exception = Assertions.assertThrows(
+                MethodArgumentException.class,
+                () -> bookingService.getUserBookingsAfter(1L, "all", "kek", 5));
+
+        assertEquals("Illegal cursor = kek",
+                exception.getMessage());
+        verify(bookingStorage, never()).findAllByBookerAfter(any(User.class), any(LocalDateTime.class),
+                anyLong(), any(Pageable.class));
+    }
 }
\ No newline at end of file
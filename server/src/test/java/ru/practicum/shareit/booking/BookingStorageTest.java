@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -9,24 +10,34 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.GetBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingTimeline;
+import ru.practicum.shareit.exceptions.ActionNotAvailableException;
 import ru.practicum.shareit.model.Status;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.AddItemRequestDto;
 
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
+import ru.practicum.shareit.utilities.BookingCursor;
 
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -34,6 +45,10 @@ import static org.hamcrest.Matchers.equalTo;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class BookingStorageTest {
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
+    private final BookingCounters bookingCounters;
+    private final BookingStorage bookingStorage;
+    private final ItemRequestService itemRequestService;
     private final UserService userService;
     private final ItemService itemService;
     private final EntityManager entityManager;
@@ -61,13 +76,18 @@ public class BookingStorageTest {
                 .available(true)
                 .build();
 
+        LocalDateTime start = LocalDateTime.now().minusDays(2).withNano(0);
         bookingDto = AddBookingDto.builder()
                 .itemId(1L)
-                .start(LocalDateTime.now().minusDays(2))
-                .end(LocalDateTime.now().minusDays(1))
+                .start(start)
+                .end(start.plusHours(1))
                 .build();
     }
 
+    private static AddBookingDto bookingAt(LocalDateTime start) {
+        return bookingDto.toBuilder().start(start).end(start.plusHours(1)).build();
+    }
+
     @Test
     void createBookingTest() {
         userService.create(userDto);
@@ -99,6 +119,134 @@ public class BookingStorageTest {
         assertThat(Status.APPROVED, equalTo(booking.getStatus()));
     }
 
+    @Test
+    void createOverlappingBookingTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        bookingService.create(2L, bookingDto);
+
+        final ActionNotAvailableException exception = assertThrows(
+                ActionNotAvailableException.class,
+                () -> bookingService.create(2L, bookingAt(bookingDto.getStart().plusMinutes(30))));
+        assertThat("Item is already booked for these dates", equalTo(exception.getMessage()));
+
+        bookingService.approveBooking(1L, 1L, false);
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusMinutes(30)));
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusMinutes(90)));
+
+        assertThat(bookingService.getOwnerBookings(1L, "all", 0, 10).size(), equalTo(3));
+    }
+
+    @Test
+    void createAndApproveAllBookingsTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        itemService.create(1L, itemDto);
+        bookingService.create(2L, bookingDto);
+
+        List<BookingBatchResultDto> created = bookingService.createAll(2L, List.of(
+                bookingAt(bookingDto.getStart().plusMinutes(30)),
+                bookingAt(bookingDto.getStart().plusHours(1)),
+                bookingAt(bookingDto.getStart().plusMinutes(90)),
+                bookingAt(bookingDto.getStart()).toBuilder().itemId(2L).build()));
+
+        Assertions.assertThat(created)
+                .extracting(BookingBatchResultDto::getStatus)
+                .containsExactly(400, 200, 400, 200);
+        assertThat(created.get(1).getBooking().getId(), equalTo(2L));
+        assertThat(created.get(3).getBooking().getId(), equalTo(3L));
+
+        List<BookingBatchResultDto> approved = bookingService.approveAll(1L, List.of(1L, 2L, 3L), true);
+        entityManager.flush();
+        entityManager.clear();
+
+        Assertions.assertThat(approved)
+                .extracting(BookingBatchResultDto::getStatus)
+                .containsExactly(200, 200, 200);
+        assertThat(bookingService.countOwnerBookings(1L, "all"), equalTo(3L));
+        assertThat(bookingService.countOwnerBookings(1L, "waiting"), equalTo(0L));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookingsTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        itemService.create(2L, itemDto);
+        bookingService.create(2L, bookingDto);
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(2)));
+        bookingService.create(1L, bookingAt(bookingDto.getStart().plusHours(1)).toBuilder().itemId(2L).build());
+
+        ByteArrayOutputStream userExport = new ByteArrayOutputStream();
+        bookingExporter.exportUserBookings(2L, userExport);
+        ByteArrayOutputStream ownerExport = new ByteArrayOutputStream();
+        bookingExporter.exportOwnerBookings(2L, ownerExport);
+
+        Assertions.assertThat(userExport.toString(StandardCharsets.UTF_8).split("\n"))
+                .hasSize(2)
+                .satisfies(lines -> {
+                    Assertions.assertThat(lines[0]).startsWith("{\"id\":2,");
+                    Assertions.assertThat(lines[1]).startsWith("{\"id\":1,");
+                });
+        Assertions.assertThat(ownerExport.toString(StandardCharsets.UTF_8).split("\n"))
+                .hasSize(1)
+                .satisfies(lines -> Assertions.assertThat(lines[0]).startsWith("{\"id\":3,"));
+    }
+
+    @Test
+    void bookingsSummaryTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        bookingService.create(2L, bookingDto);
+        bookingService.create(2L, bookingAt(now.minusMinutes(30)));
+        bookingService.create(2L, bookingAt(now.plusDays(1)));
+        bookingService.create(2L, bookingAt(now.plusDays(2)));
+        bookingService.approveBooking(1L, 3L, true);
+        bookingService.approveBooking(1L, 4L, false);
+        entityManager.flush();
+
+        bookingCounters.rebuild();
+
+        BookingSummaryDto ownerSummary = bookingService.getOwnerBookingsSummary(1L);
+        Assertions.assertThat(ownerSummary)
+                .isEqualTo(BookingSummaryDto.builder()
+                        .all(4).past(1).current(1).future(2).waiting(2).rejected(1)
+                        .build());
+        for (String state : List.of("all", "current", "past", "future", "waiting", "rejected")) {
+            Assertions.assertThat(bookingService.countOwnerBookings(1L, state))
+                    .isEqualTo(bookingService.countUserBookings(2L, state));
+        }
+        Assertions.assertThat(bookingService.getUserBookingsSummary(2L))
+                .isEqualTo(ownerSummary);
+        Assertions.assertThat(bookingService.getOwnerBookingsSummary(2L))
+                .isEqualTo(BookingSummaryDto.builder().build());
+    }
+
+    @Test
+    void findTimelinesAffectedByUserDeleteTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        userService.create(userDto2.toBuilder().email("email3@ya.ru").build());
+        itemRequestService.addRequest(3L, AddItemRequestDto.builder().description("description").build());
+        itemService.create(1L, itemDto);
+        itemService.create(1L, itemDto.toBuilder().requestId(1L).build());
+        bookingService.create(2L, bookingDto);
+        bookingService.create(2L, bookingDto.toBuilder().itemId(2L).build());
+        entityManager.flush();
+
+        Assertions.assertThat(bookingStorage.findAllTimelinesByUserId(3L))
+                .extracting(BookingTimeline::getId)
+                .containsExactly(2L);
+        Assertions.assertThat(bookingStorage.findAllTimelinesByUserId(1L))
+                .extracting(BookingTimeline::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
     @Test
     void getBookingByUserOwnerTest() {
         userService.create(userDto);
@@ -121,11 +269,11 @@ public class BookingStorageTest {
         itemService.create(1L, itemDto);
         itemService.create(2L, itemDto);
         bookingService.create(2L, bookingDto);
-        bookingService.create(2L, bookingDto);
-        bookingService.create(2L, bookingDto);
-        bookingService.create(2L, bookingDto);
-        bookingService.create(1L, bookingDto.toBuilder().itemId(2L).start(LocalDateTime.now().minusDays(2).plusHours(1)).build());
-        bookingService.create(1L, bookingDto.toBuilder().itemId(2L).start(LocalDateTime.now().minusDays(2).plusHours(2)).build());
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(1)));
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(2)));
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(3)));
+        bookingService.create(1L, bookingAt(bookingDto.getStart().plusHours(1)).toBuilder().itemId(2L).build());
+        bookingService.create(1L, bookingAt(bookingDto.getStart().plusHours(2)).toBuilder().itemId(2L).build());
         bookingService.approveBooking(1L, 1L, true);
 
         List<GetBookingDto> bookings = bookingService.getUserBookings(1L, "all", 1, 3);
@@ -143,11 +291,11 @@ public class BookingStorageTest {
         itemService.create(1L, itemDto);
         itemService.create(2L, itemDto);
         bookingService.create(2L, bookingDto);
-        bookingService.create(2L, bookingDto.toBuilder().start(LocalDateTime.now().minusDays(2).plusHours(3)).build());
-        bookingService.create(2L, bookingDto.toBuilder().start(LocalDateTime.now().minusDays(2).plusHours(2)).build());
-        bookingService.create(2L, bookingDto.toBuilder().start(LocalDateTime.now().minusDays(2).plusHours(1)).build());
-        bookingService.create(1L, bookingDto.toBuilder().itemId(2L).start(LocalDateTime.now().minusDays(2).plusHours(2)).build());
-        bookingService.create(1L, bookingDto.toBuilder().itemId(2L).start(LocalDateTime.now().minusDays(2).plusHours(1)).build());
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(3)));
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(2)));
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(1)));
+        bookingService.create(1L, bookingAt(bookingDto.getStart().plusHours(2)).toBuilder().itemId(2L).build());
+        bookingService.create(1L, bookingAt(bookingDto.getStart().plusHours(1)).toBuilder().itemId(2L).build());
         bookingService.approveBooking(1L, 1L, true);
         bookingService.approveBooking(2L, 5L, true);
 
@@ -161,5 +309,110 @@ public class BookingStorageTest {
                     Assertions.assertThat(list.get(1)).hasFieldOrPropertyWithValue("id", 4L);
                     Assertions.assertThat(list.get(2)).hasFieldOrPropertyWithValue("id", 1L);
                 });
+        assertThat(bookingService.countOwnerBookings(1L, "all"), equalTo(4L));
+        assertThat(bookingService.countOwnerBookings(1L, "waiting"), equalTo(3L));
+        assertThat(bookingService.countUserBookings(1L, "past"), equalTo(2L));
+    }
+
+    @Test
+    void getOwnerBookingsMiddlePageTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        bookingService.create(2L, bookingDto);
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(3)));
+        bookingService.create(2L, bookingAt(bookingDto.getStart().plusHours(2)));
+
+        List<GetBookingDto> bookings = bookingService.getOwnerBookings(1L, "past", 1, 1);
+
+        Assertions.assertThat(bookings)
+                .hasSize(1)
+                .satisfies(list -> Assertions.assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 3L));
+    }
+
+    @Test
+    void getUserBookingsAfterCursorTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        LocalDateTime start = LocalDateTime.now().minusDays(2).withNano(0);
+        bookingService.create(2L, bookingAt(start));
+        bookingService.create(2L, bookingAt(start.plusHours(3)));
+        bookingService.create(2L, bookingAt(start.plusHours(2)));
+        bookingService.create(2L, bookingAt(start.plusHours(1)));
+
+        List<GetBookingDto> firstPage = bookingService.getUserBookingsAfter(2L, "all", "", 2);
+        GetBookingDto last = firstPage.get(firstPage.size() - 1);
+        List<GetBookingDto> secondPage = bookingService.getUserBookingsAfter(2L, "all",
+                BookingCursor.of(last.getStart(), last.getId()).encode(), 2);
+
+        Assertions.assertThat(firstPage)
+                .hasSize(2)
+                .satisfies(list -> {
+                    Assertions.assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L);
+                    Assertions.assertThat(list.get(1)).hasFieldOrPropertyWithValue("id", 3L);
+                });
+        Assertions.assertThat(secondPage)
+                .hasSize(2)
+                .satisfies(list -> {
+                    Assertions.assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 4L);
+                    Assertions.assertThat(list.get(1)).hasFieldOrPropertyWithValue("id", 1L);
+                });
+    }
+
+    @Test
+    void getOwnerBookingsAfterCursorTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        itemService.create(1L, itemDto);
+        itemService.create(1L, itemDto);
+        itemService.create(1L, itemDto);
+        LocalDateTime sameStart = LocalDateTime.now().minusDays(2).withNano(0);
+        bookingService.create(2L, bookingAt(sameStart));
+        bookingService.create(2L, bookingAt(sameStart).toBuilder().itemId(2L).build());
+        bookingService.create(2L, bookingAt(sameStart).toBuilder().itemId(3L).build());
+
+        List<GetBookingDto> bookings = bookingService.getOwnerBookingsAfter(1L, "waiting",
+                BookingCursor.of(sameStart, 3L).encode(), 5);
+
+        Assertions.assertThat(bookings)
+                .hasSize(2)
+                .satisfies(list -> {
+                    Assertions.assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L);
+                    Assertions.assertThat(list.get(1)).hasFieldOrPropertyWithValue("id", 1L);
+                });
+    }
+
+    @Test
+    void followCursorFromOffsetPageWithSameStartDatesTest() {
+        userService.create(userDto);
+        userService.create(userDto2);
+        LocalDateTime sameStart = LocalDateTime.now().minusDays(2).withNano(0);
+        for (long itemId = 1; itemId <= 5; itemId++) {
+            itemService.create(1L, itemDto);
+            bookingService.create(2L, bookingAt(sameStart).toBuilder().itemId(itemId).build());
+        }
+
+        List<GetBookingDto> userFirstPage = bookingService.getUserBookings(2L, "all", 0, 2);
+        GetBookingDto userLast = userFirstPage.get(userFirstPage.size() - 1);
+        List<GetBookingDto> userRest = bookingService.getUserBookingsAfter(2L, "all",
+                BookingCursor.of(userLast.getStart(), userLast.getId()).encode(), 5);
+        List<GetBookingDto> ownerFirstPage = bookingService.getOwnerBookings(1L, "waiting", 0, 3);
+        GetBookingDto ownerLast = ownerFirstPage.get(ownerFirstPage.size() - 1);
+        List<GetBookingDto> ownerRest = bookingService.getOwnerBookingsAfter(1L, "waiting",
+                BookingCursor.of(ownerLast.getStart(), ownerLast.getId()).encode(), 5);
+
+        Assertions.assertThat(userFirstPage)
+                .extracting(GetBookingDto::getId)
+                .containsExactly(5L, 4L);
+        Assertions.assertThat(userRest)
+                .extracting(GetBookingDto::getId)
+                .containsExactly(3L, 2L, 1L);
+        Assertions.assertThat(ownerFirstPage)
+                .extracting(GetBookingDto::getId)
+                .containsExactly(5L, 4L, 3L);
+        Assertions.assertThat(ownerRest)
+                .extracting(GetBookingDto::getId)
+                .containsExactly(2L, 1L);
     }
-}
\ No newline at end of file
+}
@@ -7,24 +7,38 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
 import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
 import ru.practicum.shareit.item.dto.GetCommentDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.utilities.EtagFilterConfig;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(EtagFilterConfig.class)
 class ItemControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -35,6 +49,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImporter itemImporter;
+
     private static AddOrUpdateItemDto correctItem;
     private static AddOrUpdateItemDto itemWithoutName;
     private static AddOrUpdateItemDto itemWithoutDescription;
@@ -123,6 +140,44 @@ class ItemControllerTest {
         verify(itemService, times(1)).create(anyLong(), any(AddOrUpdateItemDto.class));
     }
 
+    @Test
+    @SneakyThrows
+    void importItems() {
+        AtomicReference<String> flushed = new AtomicReference<>();
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("{\"processed\":1,\"imported\":1,\"failed\":0,\"completed\":true}\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            HttpServletResponse response =
+                    ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+            flushed.set(WebUtils.getNativeResponse(response, MockHttpServletResponse.class).getContentAsString());
+            return null;
+        }).when(itemImporter).importItems(anyLong(), anyInt(), any(InputStream.class), any(OutputStream.class));
+
+        mockMvc.perform(post("/items/import?batchSize=100")
+                        .header(REQUEST_HEADER_USER_ID, "1")
+                        .content("{\"line\":1,\"item\":" + objectMapper.writeValueAsString(correctItem) + "}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"processed\":1,\"imported\":1,\"failed\":0,\"completed\":true}\n"));
+        assertThat(flushed.get()).isEqualTo("{\"processed\":1,\"imported\":1,\"failed\":0,\"completed\":true}\n");
+        verify(itemImporter, times(1)).importItems(eq(1L), eq(100), any(InputStream.class), any(OutputStream.class));
+        verify(itemService, never()).create(anyLong(), any(AddOrUpdateItemDto.class));
+    }
+
+    @Test
+    @SneakyThrows
+    void getExceptionWithImportItemsWithWrongBatchSize() {
+        mockMvc.perform(post("/items/import?batchSize=-1")
+                        .header(REQUEST_HEADER_USER_ID, "1")
+                        .content("{\"line\":1,\"item\":" + objectMapper.writeValueAsString(correctItem) + "}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+        verify(itemImporter, never()).importItems(anyLong(), anyInt(), any(InputStream.class), any(OutputStream.class));
+    }
+
     @Test
     @SneakyThrows
     void getExceptionWithUpdateWithoutHeader() {
@@ -369,4 +424,18 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
         verify(itemService, times(1)).createComment(anyLong(), anyLong(), any(AddCommentDto.class));
     }
+
+    @Test
+    @SneakyThrows
+    void getCommentsTest() {
+        when(itemService.getComments(anyLong(), anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(getCommentDto));
+        mockMvc.perform(get("/items/1/comments")
+                        .header(REQUEST_HEADER_USER_ID, "1")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1));
+        verify(itemService, times(1)).getComments(1L, 1L, 0, 10);
+    }
 }
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemImporterTest {
+    private ItemService itemService;
+    private EntityManager entityManager;
+    private ObjectMapper objectMapper;
+    private ItemImporter itemImporter;
+
+    @BeforeEach
+    void setUp() {
+        itemService = Mockito.mock(ItemService.class);
+        entityManager = Mockito.mock(EntityManager.class);
+        objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+        itemImporter = new ItemImporter(itemService, objectMapper, entityManager);
+    }
+
+    @Test
+    @SneakyThrows
+    void importItemsInBatches() {
+        AddOrUpdateItemDto item = AddOrUpdateItemDto.builder()
+                .name("itemName")
+                .description("itemDescription")
+                .available(true)
+                .build();
+        when(itemService.createAll(anyLong(), anyList()))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(ItemImportErrorDto.builder().line(5).error("Request with ID 7").build()));
+
+        StringBuilder body = new StringBuilder();
+        for (ItemImportLineDto line : List.of(
+                ItemImportLineDto.builder().line(1).item(item).build(),
+                ItemImportLineDto.builder().line(2).item(item).build(),
+                ItemImportLineDto.builder().line(3).error("name must not be blank").build(),
+                ItemImportLineDto.builder().line(4).item(item).build(),
+                ItemImportLineDto.builder().line(5).item(item.toBuilder().requestId(7L).build()).build())) {
+            body.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemImporter.importItems(1L, 2, new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .containsExactly(
+                        "{\"processed\":2,\"imported\":2,\"failed\":0,\"completed\":false}",
+                        "{\"line\":3,\"error\":\"name must not be blank\"}",
+                        "{\"processed\":4,\"imported\":3,\"failed\":1,\"completed\":false}",
+                        "{\"line\":5,\"error\":\"Request with ID 7\"}",
+                        "{\"processed\":5,\"imported\":3,\"failed\":2,\"completed\":true}");
+        verify(itemService, times(3)).createAll(anyLong(), anyList());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @SneakyThrows
+    void reportFailedBatchAsErrors() {
+        AddOrUpdateItemDto item = AddOrUpdateItemDto.builder()
+                .name("itemName")
+                .description("itemDescription")
+                .available(true)
+                .build();
+        when(itemService.createAll(anyLong(), anyList()))
+                .thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("constraint violation"))
+                .thenReturn(List.of());
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            body.append(objectMapper.writeValueAsString(ItemImportLineDto.builder().line(i).item(item).build()))
+                    .append('\n');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemImporter.importItems(1L, 2, new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)),
+                out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .containsExactly(
+                        "{\"processed\":2,\"imported\":2,\"failed\":0,\"completed\":false}",
+                        "{\"line\":3,\"error\":\"constraint violation\"}",
+                        "{\"line\":4,\"error\":\"constraint violation\"}",
+                        "{\"processed\":4,\"imported\":2,\"failed\":2,\"completed\":false}",
+                        "{\"processed\":5,\"imported\":3,\"failed\":2,\"completed\":true}");
+        verify(entityManager, times(3)).clear();
+    }
+}
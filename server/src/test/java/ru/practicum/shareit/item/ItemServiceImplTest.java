@@ -5,16 +5,21 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingCounters;
+import ru.practicum.shareit.booking.BookingStorage;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.MethodArgumentException;
 import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
+import ru.practicum.shareit.item.dto.GetCommentDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportLineDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
 import ru.practicum.shareit.model.Status;
 import ru.practicum.shareit.request.ItemRequestStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -23,6 +28,7 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,6 +43,8 @@ class ItemServiceImplTest {
     private static UserStorage userStorage;
     private static CommentStorage commentStorage;
     private static ItemRequestStorage requestStorage;
+    private static BookingStorage bookingStorage;
+    private static BookingCounters bookingCounters;
 
     private static User user;
     private static ItemRequest request;
@@ -138,7 +146,10 @@ class ItemServiceImplTest {
         userStorage = Mockito.mock(UserStorage.class);
         commentStorage = Mockito.mock(CommentStorage.class);
         requestStorage = Mockito.mock(ItemRequestStorage.class);
-        itemService = new ItemServiceImpl(itemStorage, userStorage, commentStorage, requestStorage);
+        bookingStorage = Mockito.mock(BookingStorage.class);
+        bookingCounters = Mockito.mock(BookingCounters.class);
+        itemService = new ItemServiceImpl(itemStorage, userStorage, commentStorage, requestStorage, bookingStorage,
+                new LikeItemSearchEngine(itemStorage), bookingCounters);
     }
 
     @Test
@@ -210,6 +221,29 @@ class ItemServiceImplTest {
         verify(itemStorage, never()).save(any(Item.class));
     }
 
+    @Test
+    void createAllItems() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(requestStorage.findAllById(anyCollection()))
+                .thenReturn(List.of(request));
+        when(itemStorage.saveAll(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+
+        List<ItemImportErrorDto> errors = itemService.createAll(user.getId(), List.of(
+                ItemImportLineDto.builder().line(1).item(createItemDto).build(),
+                ItemImportLineDto.builder().line(2).item(createItemDto.toBuilder().requestId(5L).build()).build(),
+                ItemImportLineDto.builder().line(3).item(createItemDto.toBuilder().requestId(null).build()).build()));
+
+        assertThat(errors)
+                .containsExactly(ItemImportErrorDto.builder().line(2).error("Request with ID 5").build());
+        verify(userStorage, times(1)).findById(anyLong());
+        verify(requestStorage, times(1)).findAllById(Set.of(1L, 5L));
+        verify(requestStorage, never()).findById(anyLong());
+        verify(itemStorage, times(1)).saveAll(argThat(items -> ((Collection<?>) items).size() == 2));
+        verify(itemStorage, never()).save(any(Item.class));
+    }
+
     @Test
     void getExceptionWithUpdateItemWithNotFoundUser() {
         when(userStorage.findById(anyLong()))
@@ -307,6 +341,7 @@ class ItemServiceImplTest {
         verify(commentStorage, never()).findById(anyLong());
         verify(itemStorage, times(1)).findById(anyLong());
         verify(itemStorage, times(1)).deleteById(anyLong());
+        verify(bookingCounters, times(1)).itemDeleted(anyLong());
     }
 
     @Test
@@ -381,12 +416,55 @@ class ItemServiceImplTest {
         when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item.toBuilder().build()));
 
-        itemService.getOneById(user.getId(), item.getId());
+        Booking nextBooking = booking.toBuilder()
+                .id(2L)
+                .startDate(LocalDateTime.now().plusDays(1))
+                .endDate(LocalDateTime.now().plusDays(2))
+                .build();
+        when(bookingStorage.findLastAndNextByItemIdIn(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking, nextBooking));
+
+        GetItemDto itemDto = itemService.getOneById(user.getId(), item.getId());
 
+        assertThat(itemDto.getLastBooking()).hasFieldOrPropertyWithValue("id", 1L);
+        assertThat(itemDto.getNextBooking()).hasFieldOrPropertyWithValue("id", 2L);
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
         verify(itemStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, times(1)).findLastAndNextByItemIdIn(eq(List.of(item.getId())), eq(Status.APPROVED),
+                any(LocalDateTime.class));
+        verify(commentStorage, times(1)).findAllByItemId(eq(item.getId()), any(Pageable.class));
+    }
+
+    @Test
+    void getComments() {
+        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemStorage.existsById(anyLong())).thenReturn(true);
+        when(commentStorage.findAllByItemId(anyLong(), any(Pageable.class))).thenReturn(List.of(comment));
+
+        List<GetCommentDto> comments = itemService.getComments(1L, 1L, 0, 20);
+
+        assertThat(comments)
+                .hasSize(1)
+                .satisfies(list -> assertThat(list.get(0))
+                        .hasFieldOrPropertyWithValue("id", 1L)
+                        .hasFieldOrPropertyWithValue("authorName", user.getName()));
+        verify(commentStorage, times(1)).findAllByItemId(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getExceptionWithGetCommentsWithNotFoundItem() {
+        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemStorage.existsById(anyLong())).thenReturn(false);
+
+        final EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> itemService.getComments(1L, 1L, 0, 20));
+
+        assertEquals("Item with ID 1 not found",
+                exception.getMessage());
+        verify(commentStorage, never()).findAllByItemId(anyLong(), any(Pageable.class));
     }
 
     @Test
@@ -400,6 +478,7 @@ class ItemServiceImplTest {
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
         verify(itemStorage, times(1)).findById(anyLong());
+        verify(bookingStorage, never()).findLastAndNextByItemIdIn(anyCollection(), any(Status.class), any(LocalDateTime.class));
     }
 
     @Test
@@ -438,8 +517,17 @@ class ItemServiceImplTest {
 
     @Test
     void testGetAllByUserIdByOwner() {
-        when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        List<Long> itemIds = listOfItems.stream().map(Item::getId).collect(Collectors.toList());
+        List<Item> shuffledItems = new ArrayList<>(listOfItems);
+        Collections.reverse(shuffledItems);
+        when(itemStorage.findIdsByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(itemIds);
+        when(itemStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(shuffledItems);
+        when(bookingStorage.findLastAndNextByItemIdIn(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking.toBuilder().item(listOfItems.get(0)).build()));
+        when(commentStorage.findAllByItemIdIn(anyCollection()))
+                .thenReturn(List.of(comment.toBuilder().item(listOfItems.get(0)).build()));
 
         List<GetItemDto> items = itemService.getAllByUserId(1L, 7, 3);
 
@@ -450,17 +538,25 @@ class ItemServiceImplTest {
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 2L);
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("name", "itemName");
                     assertThat(list.get(0)).hasFieldOrPropertyWithValue("description", "itemDescription");
+                    assertThat(list.get(0).getLastBooking()).hasFieldOrPropertyWithValue("id", 1L);
+                    assertThat(list.get(0).getComments()).hasSize(1);
+                    assertThat(list.get(1).getLastBooking()).isNull();
+                    assertThat(list.get(1).getComments()).isEmpty();
+                    assertThat(list.get(19)).hasFieldOrPropertyWithValue("id", 21L);
                 });
         verify(userStorage, never()).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findAllByOwnerId(anyLong(), any(Pageable.class));
+        verify(itemStorage, times(1)).findIdsByOwnerId(anyLong(), any(Pageable.class));
+        verify(itemStorage, times(1)).findAllByIdIn(itemIds);
+        verify(bookingStorage, times(1)).findLastAndNextByItemIdIn(eq(itemIds), eq(Status.APPROVED), any(LocalDateTime.class));
+        verify(commentStorage, times(1)).findAllByItemIdIn(itemIds);
     }
 
     @Test
     void testGetAllByUserIdByNotOwner() {
-        when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.findIdsByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
 
         List<GetItemDto> items = itemService.getAllByUserId(2L, 7, 3);
 
@@ -469,13 +565,18 @@ class ItemServiceImplTest {
         verify(userStorage, never()).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).findAllByOwnerId(anyLong(), any(Pageable.class));
+        verify(itemStorage, times(1)).findIdsByOwnerId(anyLong(), any(Pageable.class));
+        verify(itemStorage, never()).findAllByIdIn(anyCollection());
+        verify(bookingStorage, never()).findLastAndNextByItemIdIn(anyCollection(), any(Status.class), any(LocalDateTime.class));
     }
 
     @Test
     void testSearch() {
         when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemStorage.search(anyString(), any(Pageable.class))).thenReturn(new PageImpl<>(listOfItems));
+        List<Long> itemIds = listOfItems.stream().map(Item::getId).collect(Collectors.toList());
+        when(itemStorage.searchIds(anyString(), any(Pageable.class))).thenReturn(itemIds);
+        when(itemStorage.findAllByIdIn(anyCollection())).thenReturn(listOfItems);
+        when(commentStorage.findAllByItemIdIn(anyCollection())).thenReturn(List.of());
 
         List<GetItemDto> items = itemService.search(1L, "text", 7, 3);
 
@@ -490,15 +591,16 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, times(1)).search(anyString(), any(Pageable.class));
+        verify(itemStorage, times(1)).searchIds(anyString(), any(Pageable.class));
+        verify(itemStorage, times(1)).findAllByIdIn(anyCollection());
     }
 
     @Test
     void testExceptionWithSearchNotFoundUser() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(itemStorage.search(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.searchIds(anyString(), any(Pageable.class)))
+                .thenReturn(List.of(2L));
 
         final EntityNotFoundException exception = Assertions.assertThrows(
                 EntityNotFoundException.class,
@@ -509,15 +611,15 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).search(anyString(), any(Pageable.class));
+        verify(itemStorage, never()).searchIds(anyString(), any(Pageable.class));
     }
 
     @Test
     void testGetEmptyListWithSearchWithBlankText() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(itemStorage.search(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(listOfItems));
+        when(itemStorage.searchIds(anyString(), any(Pageable.class)))
+                .thenReturn(List.of(2L));
 
         List<GetItemDto> items = itemService.search(1L, " ", 7, 3);
 
@@ -526,7 +628,7 @@ class ItemServiceImplTest {
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).findById(anyLong());
         verify(commentStorage, never()).findById(anyLong());
-        verify(itemStorage, never()).search(anyString(), any(Pageable.class));
+        verify(itemStorage, never()).searchIds(anyString(), any(Pageable.class));
     }
 
     @Test
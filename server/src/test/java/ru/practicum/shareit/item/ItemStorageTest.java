@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,18 +10,25 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.AddOrUpdateItemDto;
+import ru.practicum.shareit.item.dto.GetCommentDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 @Transactional
@@ -31,6 +39,8 @@ public class ItemStorageTest {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+    private final ItemStorage itemStorage;
     private final EntityManager entityManager;
     private static AddOrUpdateItemDto createUpdateItemDto;
     private static AddOrUpdateUserDto createUpdateUserDto;
@@ -90,6 +100,34 @@ public class ItemStorageTest {
         assertThat(itemService.getAllByUserId(1L, 0, 20).size(), equalTo(0));
     }
 
+    @Test
+    void findIdsAffectedByUserDelete() {
+        userService.create(createUpdateUserDto);
+        userService.create(createUpdateUserDto.toBuilder().email("user2@ya.ru").build());
+        itemRequestService.addRequest(2L, AddItemRequestDto.builder().description("description").build());
+        itemService.create(1L, createUpdateItemDto);
+        itemService.create(1L, createUpdateItemDto.toBuilder().requestId(1L).build());
+        itemService.create(2L, createUpdateItemDto);
+
+        Assertions.assertThat(itemStorage.findIdsByOwnerIdOrRequesterId(2L))
+                .containsExactlyInAnyOrder(2L, 3L);
+        Assertions.assertThat(itemStorage.findIdsByOwnerIdOrRequesterId(1L))
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void getOwnerIdWithoutInitializingOwner() {
+        userService.create(createUpdateUserDto);
+        itemService.create(1L, createUpdateItemDto);
+        entityManager.flush();
+        entityManager.clear();
+
+        Item item = entityManager.find(Item.class, 1L);
+
+        assertThat(item.getOwnerId(), equalTo(1L));
+        assertFalse(Hibernate.isInitialized(item.getOwner()));
+    }
+
     @Test
     void getOneById() {
         userService.create(createUpdateUserDto);
@@ -132,6 +170,69 @@ public class ItemStorageTest {
                 });
     }
 
+    @Test
+    void getAllByUserIdWithBookings() {
+        userService.create(createUpdateUserDto);
+        userService.create(createUpdateUserDto.toBuilder().email("booker@ya.ru").build());
+        itemService.create(1L, createUpdateItemDto);
+        itemService.create(1L, createUpdateItemDto.toBuilder().name("name2").build());
+        AddBookingDto bookingDto = AddBookingDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .build();
+        bookingService.create(2L, bookingDto);
+        bookingService.create(2L, bookingDto.toBuilder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.create(2L, bookingDto.toBuilder()
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .build());
+        bookingService.approveBooking(1L, 1L, true);
+        bookingService.approveBooking(1L, 2L, true);
+
+        List<GetItemDto> items = itemService.getAllByUserId(1L, 0, 20);
+
+        Assertions.assertThat(items)
+                .hasSize(2)
+                .satisfies(list -> {
+                    Assertions.assertThat(list.get(0).getLastBooking()).hasFieldOrPropertyWithValue("id", 1L);
+                    Assertions.assertThat(list.get(0).getNextBooking()).hasFieldOrPropertyWithValue("id", 2L);
+                    Assertions.assertThat(list.get(1).getLastBooking()).isNull();
+                    Assertions.assertThat(list.get(1).getNextBooking()).isNull();
+                });
+    }
+
+    @Test
+    void getCommentsTest() {
+        userService.create(createUpdateUserDto);
+        userService.create(createUpdateUserDto.toBuilder().email("booker@ya.ru").build());
+        itemService.create(1L, createUpdateItemDto);
+        bookingService.create(2L, AddBookingDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .build());
+        bookingService.approveBooking(1L, 1L, true);
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 1; i <= 3; i++) {
+            itemService.createComment(2L, 1L, AddCommentDto.builder().text("comment" + i).build());
+        }
+
+        List<GetCommentDto> firstPage = itemService.getComments(1L, 1L, 0, 2);
+        List<GetCommentDto> secondPage = itemService.getComments(1L, 1L, 2, 2);
+
+        Assertions.assertThat(firstPage).hasSize(2);
+        Assertions.assertThat(secondPage)
+                .hasSize(1)
+                .satisfies(list -> Assertions.assertThat(list.get(0)).hasFieldOrPropertyWithValue("authorName",
+                        "userName"));
+        Assertions.assertThat(itemService.getOneById(2L, 1L).getComments()).hasSize(3);
+    }
+
     @Test
     void searchTest() {
         AddOrUpdateItemDto itemDto2 = createUpdateItemDto.toBuilder().name("name2").build();
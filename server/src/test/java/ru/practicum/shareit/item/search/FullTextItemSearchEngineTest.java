@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextItemSearchEngineTest {
+
+    @Test
+    void toPrefixQuery() {
+        assertEquals("дрел:* & bosch:*", FullTextItemSearchEngine.toPrefixQuery("  Дрел, BOSCH!"));
+    }
+
+    @Test
+    void toPrefixQueryWithoutWords() {
+        assertEquals("", FullTextItemSearchEngine.toPrefixQuery(" ':*&| "));
+    }
+}
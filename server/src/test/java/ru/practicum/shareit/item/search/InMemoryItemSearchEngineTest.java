@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemSearchEngineTest {
+    private ItemStorage itemStorage;
+    private InMemoryItemSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        itemStorage = Mockito.mock(ItemStorage.class);
+        when(itemStorage.findAllByAvailableTrueAndIdGreaterThan(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(item(1L, "Дрель", "Ударная дрель Bosch"),
+                        item(2L, "Отвертка", "Аккумуляторная отвертка"),
+                        item(3L, "Bosch", "Шуруповерт")));
+        searchEngine = new InMemoryItemSearchEngine(itemStorage);
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void searchByPrefix() {
+        assertEquals(List.of(1L, 3L), searchEngine.search("BOS", 0, 10));
+        assertEquals(List.of(2L), searchEngine.search("аккум", 0, 10));
+        assertEquals(List.of(), searchEngine.search("пила", 0, 10));
+    }
+
+    @Test
+    void searchByAllTokens() {
+        assertEquals(List.of(1L), searchEngine.search("дрель bosch", 0, 10));
+        assertEquals(List.of(), searchEngine.search("отвертка bosch", 0, 10));
+    }
+
+    @Test
+    void searchWithPaging() {
+        assertEquals(List.of(3L), searchEngine.search("bosch", 1, 10));
+        assertEquals(List.of(1L), searchEngine.search("bosch", 0, 1));
+        assertEquals(List.of(), searchEngine.search("bosch", 5, 10));
+    }
+
+    @Test
+    void indexAndRemove() {
+        searchEngine.index(item(4L, "Пила", "bosch"));
+        assertEquals(List.of(1L, 3L, 4L), searchEngine.search("bosch", 0, 10));
+
+        searchEngine.index(item(1L, "Дрель", "Makita"));
+        assertEquals(List.of(3L, 4L), searchEngine.search("bosch", 0, 10));
+        assertEquals(List.of(1L), searchEngine.search("makita", 0, 10));
+
+        searchEngine.index(item(3L, "Bosch", "Шуруповерт").toBuilder().available(false).build());
+        searchEngine.remove(4L);
+        assertEquals(List.of(), searchEngine.search("bosch", 0, 10));
+    }
+
+    @Test
+    void removeUserItems() {
+        when(itemStorage.findIdsByOwnerIdOrRequesterId(1L))
+                .thenReturn(List.of(1L, 3L));
+
+        searchEngine.removeUserItems(1L);
+
+        assertEquals(List.of(), searchEngine.search("bosch", 0, 10));
+        assertEquals(List.of(2L), searchEngine.search("отвертка", 0, 10));
+    }
+
+    private static Item item(long id, String name, String description) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(true)
+                .build();
+    }
+}
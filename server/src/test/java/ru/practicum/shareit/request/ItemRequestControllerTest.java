@@ -7,28 +7,42 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.mappers.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utilities.RequestCursor;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.utilities.Constants.REQUEST_HEADER_USER_ID;
+import static ru.practicum.shareit.utilities.Constants.RESPONSE_HEADER_NEXT_CURSOR;
 
 @WebMvcTest(controllers = ItemRequestController.class)
+@Import(ItemRequestFeed.class)
 class ItemRequestControllerTest {
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private ItemRequestFeed requestFeed;
     @MockBean
     private ItemRequestService requestService;
     private static AddItemRequestDto correctRequest;
@@ -186,4 +200,107 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.description").value(getItemRequestDto.getDescription()));
         verify(requestService, times(1)).getRequestById(anyLong(), anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getRequestsFeedTest() {
+        LocalDateTime created = LocalDateTime.of(2022, 10, 1, 12, 0);
+        List<GetItemRequestDto> requests = List.of(getItemRequestDto.toBuilder().created(created).build());
+        when(requestService.getRequestsSince(anyLong(), any(RequestCursor.class), anyInt()))
+                .thenReturn(requests);
+        MvcResult result = mockMvc.perform(get("/requests/feed?size=5")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RESPONSE_HEADER_NEXT_CURSOR, RequestCursor.FIRST.next(requests).encode()))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(1L));
+        verify(requestService, times(1)).getRequestsSince(1L, RequestCursor.FIRST, 5);
+    }
+
+    @Test
+    @SneakyThrows
+    void getRequestsFeedWaitsForNewRequestTest() {
+        RequestCursor since = RequestCursor.of(LocalDateTime.of(2022, 10, 1, 12, 0), 3L);
+        when(requestService.getRequestsSince(anyLong(), any(RequestCursor.class), anyInt()))
+                .thenReturn(List.of());
+        MvcResult result = mockMvc.perform(get("/requests/feed?wait=5&since=" + since.encode())
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        verify(requestService, times(2)).getRequestsSince(1L, since, 20);
+
+        User requester = User.builder().id(2L).build();
+        ItemRequest ownRequest = ItemRequest.builder()
+                .id(4L)
+                .description("own")
+                .requester(User.builder().id(1L).build())
+                .created(LocalDateTime.of(2022, 10, 2, 12, 0))
+                .build();
+        ItemRequest newRequest = ownRequest.toBuilder()
+                .id(5L)
+                .description("new")
+                .requester(requester)
+                .build();
+        requestFeed.publish(ownRequest);
+        requestFeed.publish(newRequest);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RESPONSE_HEADER_NEXT_CURSOR,
+                        since.next(List.of(ItemRequestMapper.toGetItemRequestDtoFromItemRequest(newRequest,
+                                List.of()))).encode()))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(5L))
+                .andExpect(jsonPath("$.[0].description").value("new"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getRequestsFeedPushesRequestCommittedBehindCursorTest() {
+        LocalDateTime created = LocalDateTime.of(2022, 10, 1, 12, 0);
+        RequestCursor since = RequestCursor.FIRST.next(List.of(getItemRequestDto.toBuilder()
+                .id(6L)
+                .created(created)
+                .build()));
+        when(requestService.getRequestsSince(anyLong(), any(RequestCursor.class), anyInt()))
+                .thenReturn(List.of());
+        MvcResult result = mockMvc.perform(get("/requests/feed?wait=5&since=" + since.encode())
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ItemRequest lateRequest = ItemRequest.builder()
+                .id(5L)
+                .description("late")
+                .requester(User.builder().id(2L).build())
+                .created(created.minusSeconds(1))
+                .build();
+        requestFeed.publish(lateRequest);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(5L));
+    }
+
+    @Test
+    @SneakyThrows
+    void getRequestsFeedWithIllegalWaitTest() {
+        mockMvc.perform(get("/requests/feed?wait=26")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isBadRequest());
+        verify(requestService, never()).getRequestsSince(anyLong(), any(RequestCursor.class), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void getRequestsFeedWithIllegalSizeTest() {
+        mockMvc.perform(get("/requests/feed?size=21")
+                        .header(REQUEST_HEADER_USER_ID, "1"))
+                .andExpect(status().isBadRequest());
+        verify(requestService, never()).getRequestsSince(anyLong(), any(RequestCursor.class), anyInt());
+    }
+}
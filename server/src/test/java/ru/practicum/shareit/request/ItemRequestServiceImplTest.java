@@ -11,11 +11,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemStorage;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.GetItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utilities.RequestCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +28,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +36,8 @@ class ItemRequestServiceImplTest {
     private static ItemRequestService requestService;
     private static UserStorage userStorage;
     private static ItemRequestStorage requestStorage;
+    private static ItemStorage itemStorage;
+    private static ItemRequestFeed requestFeed;
 
     private static User user;
     private static ItemRequest request;
@@ -73,7 +78,9 @@ class ItemRequestServiceImplTest {
     void setUp() {
         userStorage = Mockito.mock(UserStorage.class);
         requestStorage = Mockito.mock(ItemRequestStorage.class);
-        requestService = new ItemRequestServiceImpl(requestStorage, userStorage);
+        itemStorage = Mockito.mock(ItemStorage.class);
+        requestFeed = Mockito.mock(ItemRequestFeed.class);
+        requestService = new ItemRequestServiceImpl(requestStorage, userStorage, itemStorage, requestFeed);
     }
 
     @Test
@@ -90,6 +97,7 @@ class ItemRequestServiceImplTest {
                 .hasFieldOrPropertyWithValue("items", new ArrayList<>());
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, times(1)).save(any(ItemRequest.class));
+        verify(requestFeed, times(1)).publish(request);
     }
 
     @Test
@@ -107,6 +115,7 @@ class ItemRequestServiceImplTest {
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
         verify(requestStorage, never()).save(any(ItemRequest.class));
+        verify(requestFeed, never()).publish(any(ItemRequest.class));
     }
 
     @Test
@@ -198,8 +207,12 @@ class ItemRequestServiceImplTest {
     void getAllRequests() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user));
-        when(requestStorage.getAllByRequesterNot(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfRequests);
+        when(requestStorage.findIdsByRequesterIdNot(anyLong(), any(Pageable.class)))
+                .thenReturn(listOfRequests.map(ItemRequest::getId).getContent());
+        when(requestStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(listOfRequests.getContent());
+        when(itemStorage.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(new ArrayList<>());
 
         List<GetItemRequestDto> requests = requestService.getAllRequests(user.getId(), 7, 3);
 
@@ -211,15 +224,17 @@ class ItemRequestServiceImplTest {
                         .hasFieldOrProperty("created")
                         .hasFieldOrPropertyWithValue("items", new ArrayList<>()));
         verify(userStorage, times(1)).findById(anyLong());
-        verify(requestStorage, times(1)).getAllByRequesterNot(any(User.class), any(Pageable.class));
+        verify(requestStorage, times(1)).findIdsByRequesterIdNot(anyLong(), any(Pageable.class));
+        verify(requestStorage, times(1)).findAllByIdIn(anyCollection());
+        verify(itemStorage, times(1)).findAllByRequestIdIn(anyCollection());
     }
 
     @Test
     void getExceptionWithGetAllRequestsNotFoundUser() {
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.empty());
-        when(requestStorage.getAllByRequesterNot(any(User.class), any(Pageable.class)))
-                .thenReturn(listOfRequests);
+        when(requestStorage.findIdsByRequesterIdNot(anyLong(), any(Pageable.class)))
+                .thenReturn(listOfRequests.map(ItemRequest::getId).getContent());
 
         final EntityNotFoundException exception = Assertions.assertThrows(
                 EntityNotFoundException.class,
@@ -228,6 +243,51 @@ class ItemRequestServiceImplTest {
         assertEquals("User with ID 1",
                 exception.getMessage());
         verify(userStorage, times(1)).findById(anyLong());
-        verify(requestStorage, never()).getAllByRequesterNot(any(User.class), any(Pageable.class));
+        verify(requestStorage, never()).findIdsByRequesterIdNot(anyLong(), any(Pageable.class));
+        verify(itemStorage, never()).findAllByRequestIdIn(anyCollection());
+    }
+
+    @Test
+    void getRequestsSince() {
+        RequestCursor since = RequestCursor.FIRST.next(List.of(GetItemRequestDto.builder()
+                .id(5L)
+                .created(currentTime.minusDays(1))
+                .build()));
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(requestStorage.findIdsByRequesterIdNotCreatedFrom(anyLong(), any(LocalDateTime.class),
+                any(Pageable.class)))
+                .thenReturn(List.of(5L, 3L, 2L));
+        when(requestStorage.findAllByIdIn(anyCollection()))
+                .thenReturn(listOfRequests.getContent().subList(0, 2));
+        when(itemStorage.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(new ArrayList<>());
+
+        List<GetItemRequestDto> requests = requestService.getRequestsSince(user.getId(), since, 2);
+
+        assertThat(requests)
+                .hasSize(2)
+                .satisfies(list -> {
+                    assertThat(list.get(0)).hasFieldOrPropertyWithValue("id", 3L);
+                    assertThat(list.get(1)).hasFieldOrPropertyWithValue("id", 2L);
+                });
+        verify(requestStorage, times(1)).findIdsByRequesterIdNotCreatedFrom(eq(user.getId()),
+                eq(since.getWindowStart()), argThat(pageable -> pageable.getPageSize() == 3));
+        verify(requestStorage, times(1)).findAllByIdIn(List.of(3L, 2L));
+    }
+
+    @Test
+    void getEmptyRequestsSinceWithoutLoading() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+        when(requestStorage.findIdsByRequesterIdNotCreatedFrom(anyLong(), any(LocalDateTime.class),
+                any(Pageable.class)))
+                .thenReturn(List.of());
+
+        List<GetItemRequestDto> requests = requestService.getRequestsSince(user.getId(), RequestCursor.FIRST, 20);
+
+        assertThat(requests).isEmpty();
+        verify(requestStorage, never()).findAllByIdIn(anyCollection());
+        verify(itemStorage, never()).findAllByRequestIdIn(anyCollection());
     }
-}
\ No newline at end of file
+}
@@ -14,6 +14,7 @@ import ru.practicum.shareit.request.dto.GetItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utilities.RequestCursor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -30,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class ItemRequestStorageTest {
     private final ItemRequestService requestService;
+    private final ItemRequestStorage requestStorage;
     private final UserStorage userStorage;
     private final EntityManager entityManager;
 
@@ -151,4 +153,55 @@ public class ItemRequestStorageTest {
                             .hasFieldOrPropertyWithValue("description", requestDto5.getDescription());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestsSinceTest() {
+        userStorage.save(user);
+        userStorage.save(user2);
+        AddItemRequestDto requestDto2 = AddItemRequestDto.builder().description("request2").build();
+        AddItemRequestDto requestDto3 = AddItemRequestDto.builder().description("request3").build();
+        AddItemRequestDto requestDto4 = AddItemRequestDto.builder().description("request4").build();
+
+        requestService.addRequest(user.getId(), requestDto);
+        requestService.addRequest(user2.getId(), requestDto2);
+        requestService.addRequest(user.getId(), requestDto3);
+        requestService.addRequest(user.getId(), requestDto4);
+
+        List<GetItemRequestDto> firstPage = requestService.getRequestsSince(2L, RequestCursor.FIRST, 2);
+        Assertions.assertThat(firstPage)
+                .extracting(GetItemRequestDto::getId)
+                .containsExactly(1L, 3L);
+
+        RequestCursor next = RequestCursor.FIRST.next(firstPage);
+        List<GetItemRequestDto> secondPage = requestService.getRequestsSince(2L, next, 2);
+        Assertions.assertThat(secondPage)
+                .extracting(GetItemRequestDto::getId)
+                .containsExactly(4L);
+        Assertions.assertThat(requestService.getRequestsSince(2L, next.next(secondPage), 2))
+                .isEmpty();
+    }
+
+    @Test
+    void getRequestCommittedLateBehindCursorTest() {
+        userStorage.save(user);
+        userStorage.save(user2);
+        requestService.addRequest(user.getId(), requestDto);
+        List<GetItemRequestDto> firstPage = requestService.getRequestsSince(2L, RequestCursor.FIRST, 20);
+        RequestCursor next = RequestCursor.FIRST.next(firstPage);
+
+        ItemRequest lateRequest = requestStorage.save(ItemRequest.builder()
+                .description("late")
+                .requester(user)
+                .created(next.getCreated().minusSeconds(1))
+                .build());
+        List<GetItemRequestDto> secondPage = requestService.getRequestsSince(2L, next, 20);
+
+        Assertions.assertThat(secondPage)
+                .extracting(GetItemRequestDto::getId)
+                .containsExactly(lateRequest.getId());
+        Assertions.assertThat(next.next(secondPage).getCreated())
+                .isEqualTo(next.getCreated());
+        Assertions.assertThat(requestService.getRequestsSince(2L, next.next(secondPage), 20))
+                .isEmpty();
+    }
+}
@@ -8,8 +8,10 @@ import org.mockito.Mockito;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingCounters;
 import ru.practicum.shareit.exceptions.EntityAlreadyExistException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
 import ru.practicum.shareit.user.model.User;
@@ -27,6 +29,8 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     private static UserService userService;
     private static UserStorage userStorage;
+    private static BookingCounters bookingCounters;
+    private static ItemSearchEngine itemSearchEngine;
     private static AddOrUpdateUserDto createUserDto;
     private static AddOrUpdateUserDto updateNameUserDto;
     private static AddOrUpdateUserDto updateEmailUserDto;
@@ -70,7 +74,9 @@ class UserServiceImplTest {
     @BeforeEach
     void setUp() {
         userStorage = Mockito.mock(UserStorage.class);
-        userService = new UserServiceImpl(userStorage);
+        bookingCounters = Mockito.mock(BookingCounters.class);
+        itemSearchEngine = Mockito.mock(ItemSearchEngine.class);
+        userService = new UserServiceImpl(userStorage, bookingCounters, itemSearchEngine);
     }
 
     @Test
@@ -186,6 +192,8 @@ class UserServiceImplTest {
         userService.deleteById(1L);
 
         verify(userStorage, times(1)).deleteById(anyLong());
+        verify(bookingCounters, times(1)).userDeleted(1L);
+        verify(itemSearchEngine, times(1)).removeUserItems(1L);
     }
 
     @Test
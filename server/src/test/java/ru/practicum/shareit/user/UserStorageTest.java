@@ -6,8 +6,12 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.user.dto.AddOrUpdateUserDto;
 import ru.practicum.shareit.user.dto.GetUserDto;
 import ru.practicum.shareit.user.model.User;
@@ -19,6 +23,8 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.utilities.ServerConstants.USERS_CACHE;
 
 @Transactional
 @SpringBootTest
@@ -27,6 +33,8 @@ import static org.hamcrest.Matchers.equalTo;
 public class UserStorageTest {
     private final UserService userService;
     private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
 
     private static AddOrUpdateUserDto createUpdateUserDto;
 
@@ -47,6 +55,43 @@ public class UserStorageTest {
         assertThat(createUpdateUserDto.getEmail(), equalTo(user.getEmail()));
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateUserEvictsCachedUser() {
+        userService.create(createUpdateUserDto);
+        userService.getById(1L);
+        assertThat(cacheManager.getCache(USERS_CACHE).get(1L)).isNotNull();
+
+        userService.update(1L, AddOrUpdateUserDto.builder().name("newName").build());
+        assertThat(cacheManager.getCache(USERS_CACHE).get(1L)).isNull();
+        assertThat(userService.getById(1L).getName(), equalTo("newName"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deleteUserEvictsCachedUser() {
+        userService.create(createUpdateUserDto);
+        userService.getById(1L);
+        assertThat(cacheManager.getCache(USERS_CACHE).get(1L)).isNotNull();
+
+        userService.deleteById(1L);
+        assertThat(cacheManager.getCache(USERS_CACHE).get(1L)).isNull();
+        assertThrows(EntityNotFoundException.class, () -> userService.getById(1L));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void evictCachedUserOnlyAfterCommit() {
+        userService.create(createUpdateUserDto);
+        userService.getById(1L);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteById(1L);
+            assertThat(cacheManager.getCache(USERS_CACHE).get(1L)).isNotNull();
+        });
+        assertThat(cacheManager.getCache(USERS_CACHE).get(1L)).isNull();
+    }
+
     @Test
     void updateUserTest() {
         userService.create(createUpdateUserDto);
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.utilities;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.MethodArgumentException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    @Test
+    void encodeAndDecode() {
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.of(2022, 10, 1, 12, 30, 15, 123456000), 42L);
+        assertEquals(cursor, BookingCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decodeBlankAsFirst() {
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(null));
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(""));
+    }
+
+    @Test
+    void getExceptionWithIllegalCursor() {
+        final MethodArgumentException exception = assertThrows(
+                MethodArgumentException.class,
+                () -> BookingCursor.decode("kek"));
+        assertEquals("Illegal cursor = kek", exception.getMessage());
+    }
+}
@@ -11,7 +11,9 @@ class ConstantsTest {
     @Test
     void checkConstants() {
         assertEquals("X-Sharer-User-Id", REQUEST_HEADER_USER_ID);
+        assertEquals("X-Next-Cursor", RESPONSE_HEADER_NEXT_CURSOR);
         assertEquals(SORT_BY_START_DATE_DESC, Sort.by(Sort.Direction.DESC, "startDate"));
+        assertEquals(SORT_BY_START_DATE_AND_ID_DESC, Sort.by(Sort.Direction.DESC, "startDate", "id"));
         assertEquals(SORT_BY_ID_ASC, Sort.by(Sort.Direction.ASC, "id"));
         assertEquals(SORT_BY_CREATED_DESC, Sort.by(Sort.Direction.DESC, "created"));
     }